@@ -1,13 +1,19 @@
+package io.luna.plugin.player.command
+
+import io.luna.LunaContext
 import io.luna.game.event.impl.CommandEvent
 import io.luna.game.model.Position
+import io.luna.plugin.ScalaPlugin
 
->>@[CommandEvent]("move") { (msg, plr) =>
-  val args = msg.getArgs
+final class MoveCmd(context: LunaContext) extends ScalaPlugin(context) {
 
-  val x = args(0).toInt
-  val y = args(1).toInt
-  val z = if (args.length == 3) args(2).toInt else plr.z
+  >>@[CommandEvent]("move") { (msg, plr) =>
+    val args = msg.getArgs
 
-  plr.teleport(new Position(x, y, z))
-}
+    val x = args(0).toInt
+    val y = args(1).toInt
+    val z = if (args.length == 3) args(2).toInt else plr.z
 
+    plr.teleport(new Position(x, y, z))
+  }
+}
@@ -1,6 +1,13 @@
+package io.luna.plugin.player.command
+
+import io.luna.LunaContext
 import io.luna.game.event.impl.CommandEvent
+import io.luna.plugin.ScalaPlugin
+
+final class NpcCmd(context: LunaContext) extends ScalaPlugin(context) {
 
->>@[CommandEvent]("npc") { (msg, plr) =>
-  val args = msg.getArgs
-  plr.getWorld.addNpc(args(0).toInt, plr.getPosition)
-}
\ No newline at end of file
+  >>@[CommandEvent]("npc") { (msg, plr) =>
+    val args = msg.getArgs
+    plr.getWorld.addNpc(args(0).toInt, plr.getPosition)
+  }
+}
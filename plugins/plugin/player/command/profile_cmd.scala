@@ -0,0 +1,38 @@
+package io.luna.plugin.player.command
+
+import io.luna.LunaContext
+import io.luna.game.event.ListenerProfiler.Profile
+import io.luna.game.event.impl.CommandEvent
+import io.luna.plugin.ScalaPlugin
+
+import scala.collection.JavaConversions._
+
+final class ProfileCmd(context: LunaContext) extends ScalaPlugin(context) {
+
+  >>@[CommandEvent]("profile") { (msg, plr) =>
+    if (plr.getRights.greater(rightsMod)) {
+      val profiler = plugins.getProfiler
+
+      def describe(profile: Profile) =
+        s"${profile.getName}: ${profile.getCalls}x, ~${profile.getTotalNanos / 1000}us, " +
+          s"p99 ${profile.getTimes.getPercentileNanos(99)}ns"
+
+      msg.getArgs.headOption match {
+        case Some("on") =>
+          profiler.setEnabled(true)
+          plr.sendMessage("Listener profiling enabled.")
+        case Some("off") =>
+          profiler.setEnabled(false)
+          plr.sendMessage("Listener profiling disabled.")
+        case Some("reset") =>
+          profiler.reset()
+          plr.sendMessage("Listener profiles reset.")
+        case _ =>
+          plr.sendMessage(s"Top listeners (profiling ${if (profiler.isEnabled) "on" else "off"}):")
+          profiler.getTopListeners(5).foreach(profile => plr.sendMessage(describe(profile)))
+          plr.sendMessage("Top events:")
+          profiler.getTopEvents(5).foreach(profile => plr.sendMessage(describe(profile)))
+      }
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package io.luna.plugin.player.command
+
+import io.luna.LunaContext
+import io.luna.game.event.impl.CommandEvent
+import io.luna.plugin.ScalaPlugin
+
+import scala.collection.JavaConversions._
+
+final class TicksCmd(context: LunaContext) extends ScalaPlugin(context) {
+
+  >>@[CommandEvent]("ticks") { (msg, plr) =>
+    if (plr.getRights.greater(rightsMod)) {
+      val history = service.getProfiler.getHistory
+      val budget = service.getBudget
+
+      if (history.isEmpty) {
+        plr.sendMessage("No cycles recorded yet.")
+      } else {
+        val slowest = history.maxBy(_.getTotalNanos)
+        plr.sendMessage(s"${history.size} recent cycles, ${budget.getOverruns} overruns, " +
+          s"${budget.getDeferrals} deferrals. Slowest:")
+        slowest.toString.split(", ").grouped(4).foreach(line => plr.sendMessage(line.mkString(", ")))
+      }
+    }
+  }
+}
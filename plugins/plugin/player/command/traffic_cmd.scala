@@ -0,0 +1,32 @@
+package io.luna.plugin.player.command
+
+import io.luna.LunaContext
+import io.luna.game.event.impl.CommandEvent
+import io.luna.net.session.GameSession
+import io.luna.plugin.ScalaPlugin
+
+import scala.collection.JavaConversions._
+
+final class TrafficCmd(context: LunaContext) extends ScalaPlugin(context) {
+
+  >>@[CommandEvent]("traffic") { (msg, plr) =>
+    if (plr.getRights.greater(rightsMod)) {
+      val snapshot = ctx.getStatistics.snapshot
+      val session = plr.getSession
+
+      def top(bytes: Int => Long, count: Int => Long) =
+        (0 until 256).filter(bytes(_) > 0).sortBy(-bytes(_)).take(5).
+          map(op => s"$op: ${count(op)}x ${bytes(op)}b").mkString(", ")
+
+      plr.sendMessage(s"In: ${top(snapshot.getInboundBytes, snapshot.getInboundCount)}")
+      plr.sendMessage(s"Out: ${top(snapshot.getOutboundBytes, snapshot.getOutboundCount)}")
+
+      snapshot.getEncodeTimes.toSeq.sortBy(-_._2.getPercentileNanos(99)).take(5).foreach { case (name, times) =>
+        plr.sendMessage(s"$name: p50 ${times.getPercentileNanos(50)}ns, p99 ${times.getPercentileNanos(99)}ns")
+      }
+
+      plr.sendMessage(s"You: ${session.getInboundBytes}b in, ${session.getOutboundBytes}b out")
+      plr.sendMessage(s"Pending outbound: ${GameSession.getPendingOutboundBytes}b")
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package io.luna.plugin.player.command
+
+import io.luna.LunaContext
+import io.luna.game.WorkPriority
+import io.luna.game.event.impl.CommandEvent
+import io.luna.plugin.ScalaPlugin
+
+final class WorkersCmd(context: LunaContext) extends ScalaPlugin(context) {
+
+  >>@[CommandEvent]("workers") { (msg, plr) =>
+    if (plr.getRights.greater(rightsMod)) {
+      val workers = service.getWorkers
+
+      WorkPriority.values.foreach { priority =>
+        val stats = workers.getStatistics(priority)
+        plr.sendMessage(s"$priority: ${stats.getPending} pending, ${stats.getCompleted} ran, " +
+          s"${stats.getRejected} rejected, ${stats.getCallerRuns} caller ran")
+        plr.sendMessage(s"  wait p99 ${stats.getWaitTimes.getPercentileNanos(99) / 1000}us, " +
+          s"run p99 ${stats.getRunTimes.getPercentileNanos(99) / 1000}us")
+      }
+    }
+  }
+}
@@ -1,3 +1,10 @@
+package io.luna.plugin.player
+
+import io.luna.LunaContext
 import io.luna.game.event.impl.ButtonClickEvent
+import io.luna.plugin.ScalaPlugin
+
+final class Logout(context: LunaContext) extends ScalaPlugin(context) {
 
->>@[ButtonClickEvent](2458) { (msg, plr) => plr.logout }
+  >>@[ButtonClickEvent](2458) { (msg, plr) => plr.logout }
+}
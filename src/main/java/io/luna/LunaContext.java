@@ -2,7 +2,12 @@ package io.luna;
 
 import io.luna.game.GameService;
 import io.luna.game.model.World;
+import io.luna.game.model.mobile.PlayerSerializer;
 import io.luna.game.plugin.PluginManager;
+import io.luna.net.msg.MessageStatistics;
+import io.luna.net.msg.TrafficRecorder;
+
+import java.nio.file.Path;
 
 /**
  * An object assigned to every {@link Server} instance. It represents a single instance of the Runescape in it's entirety,
@@ -27,10 +32,35 @@ public final class LunaContext {
      */
     private final PluginManager plugins = new PluginManager(this);
 
+    /**
+     * The {@link MessageStatistics} that tracks traffic for every opcode.
+     */
+    private final MessageStatistics statistics = new MessageStatistics();
+
+    /**
+     * The {@link TrafficRecorder} that records inbound traffic, if enabled.
+     */
+    private final TrafficRecorder recorder = new TrafficRecorder(this);
+
+    /**
+     * The directory that players are saved to and loaded from.
+     */
+    private final Path savedPlayers;
+
     /**
      * A package-private constructor to discourage external instantiation outside of the {@code io.luna} package.
      */
     LunaContext() {
+        this(PlayerSerializer.FILE_DIR);
+    }
+
+    /**
+     * A package-private constructor to discourage external instantiation outside of the {@code io.luna} package.
+     *
+     * @param savedPlayers The directory that players are saved to and loaded from.
+     */
+    LunaContext(Path savedPlayers) {
+        this.savedPlayers = savedPlayers;
     }
 
     /**
@@ -53,4 +83,25 @@ public final class LunaContext {
     public PluginManager getPlugins() {
         return plugins;
     }
+
+    /**
+     * @return The {@link MessageStatistics} that tracks traffic for every opcode.
+     */
+    public MessageStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return The {@link TrafficRecorder} that records inbound traffic, if enabled.
+     */
+    public TrafficRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * @return The directory that players are saved to and loaded from.
+     */
+    public Path getSavedPlayers() {
+        return savedPlayers;
+    }
 }
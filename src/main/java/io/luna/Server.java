@@ -2,6 +2,7 @@ package io.luna;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.cache.Cache;
 import io.luna.game.GameService;
 import io.luna.game.plugin.PluginBootstrap;
 import io.luna.net.LunaChannelInitializer;
@@ -22,6 +23,11 @@ import io.netty.util.ResourceLeakDetector;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -69,6 +75,7 @@ public final class Server {
         LOGGER.info("Luna is being initialized...");
 
         initAsyncTasks();
+        initRecorder();
         initGame();
         service.shutdown();
         service.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
@@ -91,9 +98,11 @@ public final class Server {
 
         bootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
         bootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        bootstrap.childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, LunaNetworkConstants.WRITE_BUFFER_HIGH_WATER_MARK);
+        bootstrap.childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, LunaNetworkConstants.WRITE_BUFFER_LOW_WATER_MARK);
         bootstrap.group(loopGroup);
         bootstrap.channel(NioServerSocketChannel.class);
-        bootstrap.childHandler(new LunaChannelInitializer(context, messageRepository));
+        bootstrap.childHandler(new LunaChannelInitializer(context, messageRepository, openCache()));
         bootstrap.bind(LunaNetworkConstants.PORT).syncUninterruptibly();
 
         ImmutableSet<Integer> preferred = LunaNetworkConstants.PREFERRED_PORTS;
@@ -102,6 +111,33 @@ public final class Server {
         }
     }
 
+    /**
+     * Opens the cache that will be served through the on-demand protocol.
+     *
+     * @return The cache, or an empty {@link Optional} if there is no cache to serve.
+     * @throws IOException If the cache exists but could not be opened.
+     */
+    private Optional<Cache> openCache() throws IOException {
+        Path directory = Paths.get(LunaNetworkConstants.CACHE_DIRECTORY);
+        if (!Files.exists(directory.resolve(Cache.DATA_FILE))) {
+            LOGGER.info("No cache found in {}, on-demand requests will be refused.", directory);
+            return Optional.empty();
+        }
+        return Optional.of(Cache.open(directory));
+    }
+
+    /**
+     * Starts recording inbound traffic, if enabled.
+     *
+     * @throws IOException If the log could not be opened.
+     */
+    private void initRecorder() throws IOException {
+        if (LunaNetworkConstants.CAPTURE_TRAFFIC) {
+            Path file = Paths.get(LunaNetworkConstants.CAPTURE_DIRECTORY, "traffic-" + System.currentTimeMillis() + ".bin");
+            context.getRecorder().start(file);
+        }
+    }
+
     /**
      * Initializes the {@link GameService} asynchronously, does not wait for it to enter a {@code RUNNING} state.
      *
@@ -123,4 +159,11 @@ public final class Server {
         service.execute(new NpcCombatDefinitionParser());
         service.execute(new MessageRepositoryParser(messageRepository));
     }
+
+    /**
+     * @return The {@link LunaContext} that this {@code Server} will be managed with.
+     */
+    LunaContext getContext() {
+        return context;
+    }
 }
@@ -0,0 +1,214 @@
+package io.luna.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A read-only view of a {@code #317} cache, made up of {@code main_file_cache.dat} and the {@code main_file_cache.idx}
+ * files that index it. Every file is memory-mapped, so locating and reading files never blocks on a read system call and is
+ * safe from any thread.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class Cache implements AutoCloseable {
+
+    /**
+     * The size of a single sector in the data file.
+     */
+    public static final int SECTOR_SIZE = 520;
+
+    /**
+     * The size of the header at the start of every sector.
+     */
+    public static final int SECTOR_HEADER_SIZE = 8;
+
+    /**
+     * The size of the data held by every sector.
+     */
+    public static final int SECTOR_DATA_SIZE = SECTOR_SIZE - SECTOR_HEADER_SIZE;
+
+    /**
+     * The size of a single entry in an index file.
+     */
+    public static final int INDEX_ENTRY_SIZE = 6;
+
+    /**
+     * The amount of index files in a {@code #317} cache.
+     */
+    public static final int INDEX_COUNT = 5;
+
+    /**
+     * The name of the data file.
+     */
+    public static final String DATA_FILE = "main_file_cache.dat";
+
+    /**
+     * The prefix of the name of every index file, followed by the index.
+     */
+    public static final String INDEX_FILE_PREFIX = "main_file_cache.idx";
+
+    /**
+     * The channel of the data file, used for zero-copy transfers.
+     */
+    private final FileChannel data;
+
+    /**
+     * The memory-mapped data file.
+     */
+    private final MappedByteBuffer dataBuffer;
+
+    /**
+     * The memory-mapped index files.
+     */
+    private final MappedByteBuffer[] indexes;
+
+    /**
+     * Creates a new {@link Cache}.
+     *
+     * @param data The channel of the data file.
+     * @param dataBuffer The memory-mapped data file.
+     * @param indexes The memory-mapped index files.
+     */
+    private Cache(FileChannel data, MappedByteBuffer dataBuffer, MappedByteBuffer[] indexes) {
+        this.data = data;
+        this.dataBuffer = dataBuffer;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Opens the cache in {@code directory}.
+     *
+     * @param directory The directory containing the cache.
+     * @return The opened cache.
+     * @throws IOException If the cache could not be opened.
+     */
+    public static Cache open(Path directory) throws IOException {
+        FileChannel data = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.READ);
+        try {
+            MappedByteBuffer dataBuffer = data.map(MapMode.READ_ONLY, 0, data.size());
+
+            MappedByteBuffer[] indexes = new MappedByteBuffer[INDEX_COUNT];
+            for (int i = 0; i < INDEX_COUNT; i++) {
+                Path path = directory.resolve(INDEX_FILE_PREFIX + i);
+                if (Files.exists(path)) {
+                    try (FileChannel index = FileChannel.open(path, StandardOpenOption.READ)) {
+                        indexes[i] = index.map(MapMode.READ_ONLY, 0, index.size());
+                    }
+                }
+            }
+            return new Cache(data, dataBuffer, indexes);
+        } catch (IOException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the amount of files in {@code index}.
+     *
+     * @param index The index.
+     * @return The amount of files, {@code 0} if the index does not exist.
+     */
+    public int getFileCount(int index) {
+        checkArgument(index >= 0 && index < INDEX_COUNT, "invalid index");
+        MappedByteBuffer buffer = indexes[index];
+        return buffer == null ? 0 : buffer.capacity() / INDEX_ENTRY_SIZE;
+    }
+
+    /**
+     * Locates {@code file} in {@code index} by walking its chain of sectors, validating the header of each one.
+     *
+     * @param index The index of the file.
+     * @param file The identifier of the file.
+     * @return The location of the file.
+     * @throws IOException If the file does not exist, or its sectors are corrupt.
+     */
+    public CacheFile locate(int index, int file) throws IOException {
+        if (file < 0 || file >= getFileCount(index)) {
+            throw new IOException("no such file [index=" + index + ", file=" + file + "]");
+        }
+
+        MappedByteBuffer indexBuffer = indexes[index];
+        int entry = file * INDEX_ENTRY_SIZE;
+        int size = readMedium(indexBuffer, entry);
+        int sector = readMedium(indexBuffer, entry + 3);
+        if (size <= 0 || sector <= 0) {
+            throw new IOException("no such file [index=" + index + ", file=" + file + "]");
+        }
+
+        long[] positions = new long[(size + SECTOR_DATA_SIZE - 1) / SECTOR_DATA_SIZE];
+        for (int chunk = 0; chunk < positions.length; chunk++) {
+            long position = (long) sector * SECTOR_SIZE;
+            int used = Math.min(SECTOR_DATA_SIZE, size - chunk * SECTOR_DATA_SIZE);
+            if (sector <= 0 || position + SECTOR_HEADER_SIZE + used > dataBuffer.capacity()) {
+                throw new IOException("sector out of bounds [index=" + index + ", file=" + file + "]");
+            }
+
+            int base = (int) position;
+            int sectorFile = dataBuffer.getShort(base) & 0xFFFF;
+            int sectorChunk = dataBuffer.getShort(base + 2) & 0xFFFF;
+            int nextSector = readMedium(dataBuffer, base + 4);
+            int sectorIndex = dataBuffer.get(base + 7) & 0xFF;
+            if (sectorFile != file || sectorChunk != chunk || sectorIndex != index + 1) {
+                throw new IOException("corrupt sector [index=" + index + ", file=" + file + ", chunk=" + chunk + "]");
+            }
+
+            positions[chunk] = position + SECTOR_HEADER_SIZE;
+            sector = nextSector;
+        }
+        return new CacheFile(index, file, size, positions);
+    }
+
+    /**
+     * Reads the entire contents of {@code file} into a new buffer.
+     *
+     * @param file The location of the file.
+     * @return The contents of the file.
+     */
+    public ByteBuffer read(CacheFile file) {
+        ByteBuffer buffer = ByteBuffer.allocate(file.getSize());
+        int offset = 0;
+        while (offset < file.getSize()) {
+            int length = file.contiguousLength(offset);
+            ByteBuffer segment = dataBuffer.duplicate();
+            segment.position((int) file.positionOf(offset));
+            segment.limit(segment.position() + length);
+            buffer.put(segment);
+            offset += length;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return The channel of the data file, used for zero-copy transfers. It must not be closed by anything other than
+     * this cache.
+     */
+    public FileChannel getDataChannel() {
+        return data;
+    }
+
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+
+    /**
+     * Reads an unsigned 24-bit integer from {@code buffer} at {@code position}.
+     *
+     * @param buffer The buffer.
+     * @param position The position to read from.
+     * @return The integer.
+     */
+    private static int readMedium(ByteBuffer buffer, int position) {
+        return (buffer.get(position) & 0xFF) << 16 | (buffer.get(position + 1) & 0xFF) << 8 | buffer.get(position + 2) & 0xFF;
+    }
+}
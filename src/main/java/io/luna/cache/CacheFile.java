@@ -0,0 +1,90 @@
+package io.luna.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The location of a single file within the data file of a {@link Cache}. A file is stored as a chain of sectors, so its
+ * contents are made up of one contiguous segment of the data file per sector.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class CacheFile {
+
+    /**
+     * The index the file belongs to.
+     */
+    private final int index;
+
+    /**
+     * The identifier of the file.
+     */
+    private final int file;
+
+    /**
+     * The size of the file, in bytes.
+     */
+    private final int size;
+
+    /**
+     * The position of each segment within the data file, one for every sector.
+     */
+    private final long[] positions;
+
+    /**
+     * Creates a new {@link CacheFile}.
+     *
+     * @param index The index the file belongs to.
+     * @param file The identifier of the file.
+     * @param size The size of the file, in bytes.
+     * @param positions The position of each segment within the data file.
+     */
+    CacheFile(int index, int file, int size, long[] positions) {
+        this.index = index;
+        this.file = file;
+        this.size = size;
+        this.positions = positions;
+    }
+
+    /**
+     * Returns the position within the data file of the byte at {@code offset} within this file.
+     *
+     * @param offset The offset within this file.
+     * @return The position within the data file.
+     */
+    public long positionOf(int offset) {
+        checkArgument(offset >= 0 && offset < size, "offset out of bounds");
+        return positions[offset / Cache.SECTOR_DATA_SIZE] + offset % Cache.SECTOR_DATA_SIZE;
+    }
+
+    /**
+     * Returns how many bytes starting at {@code offset} are stored contiguously in the data file.
+     *
+     * @param offset The offset within this file.
+     * @return The amount of contiguous bytes.
+     */
+    public int contiguousLength(int offset) {
+        checkArgument(offset >= 0 && offset < size, "offset out of bounds");
+        return Math.min(size - offset, Cache.SECTOR_DATA_SIZE - offset % Cache.SECTOR_DATA_SIZE);
+    }
+
+    /**
+     * @return The index the file belongs to.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The identifier of the file.
+     */
+    public int getFile() {
+        return file;
+    }
+
+    /**
+     * @return The size of the file, in bytes.
+     */
+    public int getSize() {
+        return size;
+    }
+}
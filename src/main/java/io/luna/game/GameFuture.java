@@ -0,0 +1,215 @@
+package io.luna.game;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.luna.game.model.mobile.Player;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The result of work submitted through {@code GameService.async}. The work itself runs on the {@link WorkerPool} as {@code
+ * PLUGIN} work, in submission order for the same owner, but its completion is always delivered on the game thread, once
+ * every cycle right after synchronization tasks are ran.
+ * Everything in this class besides creating it should only be done from the game thread, so a completion never races with
+ * the rest of the cycle.
+ * <p>
+ * <p>
+ * A future can be owned by a {@link Player}, in which case it is cancelled when that player logs out.
+ *
+ * @param <T> The type of the result.
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class GameFuture<T> {
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(GameFuture.class);
+
+    /**
+     * The future of the {@code PLUGIN} work running on the {@link WorkerPool}.
+     */
+    private final ListenableFuture<T> future;
+
+    /**
+     * The {@link Player} this future is cancelled for on logout, {@code null} if it has no owner.
+     */
+    private final Player owner;
+
+    /**
+     * The function that receives the result, {@code null} if the result is ignored.
+     */
+    private Consumer<? super T> onSuccess;
+
+    /**
+     * The function that receives the failure, {@code null} if the failure is only logged.
+     */
+    private Consumer<? super Throwable> onFailure;
+
+    /**
+     * If the completion has been delivered.
+     */
+    private boolean done;
+
+    /**
+     * If this future has been cancelled.
+     */
+    private boolean cancelled;
+
+    /**
+     * The result, if the completion has been delivered and the work succeeded.
+     */
+    private T result;
+
+    /**
+     * The failure, if the completion has been delivered and the work failed.
+     */
+    private Throwable failure;
+
+    /**
+     * Creates a new {@link GameFuture}.
+     *
+     * @param future The future of the {@code PLUGIN} work running on the {@link WorkerPool}.
+     * @param owner The {@link Player} this future is cancelled for on logout, {@code null} if it has no owner.
+     */
+    GameFuture(ListenableFuture<T> future, Player owner) {
+        this.future = future;
+        this.owner = owner;
+    }
+
+    /**
+     * Sets the function that receives the result. If the completion has already been delivered, {@code action} is ran
+     * right away.
+     *
+     * @param action The function that receives the result.
+     * @return This future, for chaining.
+     */
+    public GameFuture<T> onSuccess(Consumer<? super T> action) {
+        checkState(onSuccess == null, "onSuccess already set");
+
+        onSuccess = action;
+        if (done && failure == null) {
+            run(action, result);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the function that receives the failure, which is logged if this is never set. If the completion has already been
+     * delivered, {@code action} is ran right away.
+     *
+     * @param action The function that receives the failure.
+     * @return This future, for chaining.
+     */
+    public GameFuture<T> onFailure(Consumer<? super Throwable> action) {
+        checkState(onFailure == null, "onFailure already set");
+
+        onFailure = action;
+        if (done && failure != null) {
+            run(action, failure);
+        }
+        return this;
+    }
+
+    /**
+     * Cancels this future, interrupting the work if it is still running. Nothing is delivered for a cancelled future.
+     *
+     * @return {@code true} if this future was cancelled, {@code false} if its completion has already been delivered or it
+     * was already cancelled.
+     */
+    public boolean cancel() {
+        if (done || cancelled) {
+            return false;
+        }
+        cancelled = true;
+        future.cancel(true);
+        if (owner != null) {
+            owner.getFutures().remove(this);
+        }
+        return true;
+    }
+
+    /**
+     * Delivers the result. Only invoked on the game thread by the {@link GameService}.
+     *
+     * @param value The result.
+     */
+    void succeed(T value) {
+        if (complete()) {
+            result = value;
+            if (onSuccess != null) {
+                run(onSuccess, value);
+            }
+        }
+    }
+
+    /**
+     * Delivers the failure. Only invoked on the game thread by the {@link GameService}.
+     *
+     * @param t The failure.
+     */
+    void fail(Throwable t) {
+        if (complete()) {
+            failure = t;
+            if (onFailure != null) {
+                run(onFailure, t);
+            } else {
+                LOGGER.catching(t);
+            }
+        }
+    }
+
+    /**
+     * Marks the completion as delivered, unless this future has been cancelled.
+     *
+     * @return {@code true} if the completion should be delivered.
+     */
+    private boolean complete() {
+        if (cancelled) {
+            return false;
+        }
+        done = true;
+        if (owner != null) {
+            owner.getFutures().remove(this);
+        }
+        return true;
+    }
+
+    /**
+     * Runs {@code action} with {@code value}, logging anything thrown so it does not interrupt the cycle.
+     *
+     * @param action The function to run.
+     * @param value The value to run it with.
+     */
+    private static <V> void run(Consumer<? super V> action, V value) {
+        try {
+            action.accept(value);
+        } catch (Exception e) {
+            LOGGER.catching(e);
+        }
+    }
+
+    /**
+     * @return {@code true} if the completion has been delivered.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return {@code true} if this future has been cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return The {@link Player} this future is cancelled for on logout, {@code null} if it has no owner.
+     */
+    public Player getOwner() {
+        return owner;
+    }
+}
@@ -1,25 +1,25 @@
 package io.luna.game;
 
 import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.luna.LunaContext;
 import io.luna.game.model.World;
+import io.luna.game.model.mobile.Player;
+import io.luna.net.LunaNetworkConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * An {@link AbstractScheduledService} implementation that performs general game logic processing, provides functionality for
- * executing small asynchronous and concurrent tasks through a cached thread pool, and allows for tasks from other threads to
- * be executed on the game logic thread.
+ * executing small asynchronous and concurrent tasks through a bounded {@link WorkerPool}, and allows for tasks from other
+ * threads to be executed on the game logic thread.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -31,21 +31,67 @@ public final class GameService extends AbstractScheduledService {
     private static final Logger LOGGER = LogManager.getLogger(GameService.class);
 
     /**
-     * A cached thread pool that manages the execution of short, low priority, asynchronous and concurrent tasks.
+     * The amount of {@code MILLISECONDS} in between each cycle.
      */
-    private final ListeningExecutorService executorService = MoreExecutors.listeningDecorator(
-        Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("LunaWorkerThread").build()));
+    public static final long TICK_MILLIS = 600;
+
+    /**
+     * The amount of deferrable synchronization tasks that always run per cycle, so they drain even while overloaded.
+     */
+    private static final int MINIMUM_DEFERRABLE_TASKS = 10;
+
+    /**
+     * The worker threads that run asynchronous tasks, by priority.
+     */
+    private final WorkerPool workers = new WorkerPool(WorkerPool.DEFAULT_THREADS);
 
     /**
      * A queue of synchronization tasks.
      */
     private final Queue<Runnable> syncTasks = new ConcurrentLinkedQueue<>();
 
+    /**
+     * A queue of low priority synchronization tasks, ran while the {@link TickBudget} allows.
+     */
+    private final Queue<Runnable> deferrableTasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Decides if deferrable work can still run on the current cycle.
+     */
+    private final TickBudget budget = new TickBudget(
+        TimeUnit.MILLISECONDS.toNanos(LunaNetworkConstants.DEFER_THRESHOLD_MILLIS));
+
+    /**
+     * Times the phases of every cycle.
+     */
+    private final TickProfiler profiler = new TickProfiler(
+        TimeUnit.MILLISECONDS.toNanos(LunaNetworkConstants.SLOW_TICK_MILLIS));
+
+    /**
+     * A queue of {@link GameFuture} completions, delivered right after synchronization tasks.
+     */
+    private final Queue<Runnable> completions = new ConcurrentLinkedQueue<>();
+
     /**
      * An instance of the {@link LunaContext}.
      */
     private final LunaContext context;
 
+    /**
+     * The value of {@code System.nanoTime()} when the current cycle started, only accessed by the game thread.
+     */
+    private long tickStart;
+
+    /**
+     * The duration of the last completed cycle, in nanoseconds.
+     */
+    private volatile long lastTickNanos;
+
+    /**
+     * The amount of cycles that have completed, only written by the game thread.
+     */
+    private volatile long tickCount;
+
     /**
      * Creates a new {@link GameService}.
      *
@@ -70,32 +116,37 @@ public final class GameService extends AbstractScheduledService {
      */
     @Override
     protected void runOneIteration() throws Exception {
+        startTick();
+        World world = context.getWorld();
         try {
-            for (; ; ) {
-                Runnable t = syncTasks.poll();
-                if (t == null) {
-                    break;
-                }
-
-                try {
-                    t.run();
-                } catch (Exception e) {
-                    LOGGER.catching(e);
-                }
-            }
+            runSyncTasks();
+            profiler.mark(TickPhase.SYNC_TASKS);
+            runCompletions();
+            profiler.mark(TickPhase.COMPLETIONS);
+            runDeferrableTasks();
+            profiler.mark(TickPhase.DEFERRABLE_TASKS);
 
-            World world = context.getWorld();
             world.dequeueLogins();
+            profiler.mark(TickPhase.LOGINS);
             world.runGameLoop();
             world.dequeueLogouts();
+            profiler.mark(TickPhase.LOGOUTS);
+            world.runAutoSaves();
+            profiler.mark(TickPhase.AUTO_SAVES);
         } catch (Exception e) {
             LOGGER.catching(e);
+        } finally {
+            context.getRecorder().flush();
+            lastTickNanos = System.nanoTime() - tickStart;
+            budget.finishTick(lastTickNanos);
+            profiler.finish(world.getPlayers().size(), world.getNpcs().size());
+            tickCount++;
         }
     }
 
     @Override
     protected Scheduler scheduler() {
-        return Scheduler.newFixedRateSchedule(600, 600, TimeUnit.MILLISECONDS);
+        return Scheduler.newFixedRateSchedule(TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -111,15 +162,90 @@ public final class GameService extends AbstractScheduledService {
             LOGGER.fatal("The asynchronous game service has been shutdown, exiting...");
             syncTasks.forEach(Runnable::run);
             syncTasks.clear();
+            deferrableTasks.forEach(Runnable::run);
+            deferrableTasks.clear();
             world.getPlayers().clear();
-            executorService.shutdown();
-            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            context.getRecorder().stop();
+            workers.shutdown();
         } catch (Exception e) {
             LOGGER.catching(e);
         }
         System.exit(0);
     }
 
+    /**
+     * Marks the start of a new cycle. Should only be called from the game thread, or from whatever is driving the {@link
+     * World} in its place.
+     */
+    public void startTick() {
+        tickStart = System.nanoTime();
+        budget.startTick(tickStart);
+        profiler.start(tickCount, tickStart);
+    }
+
+    /**
+     * Runs every queued synchronization task. Should only be called from the game thread, or from whatever is driving the
+     * {@link World} in its place.
+     */
+    public void runSyncTasks() {
+        for (; ; ) {
+            Runnable t = syncTasks.poll();
+            if (t == null) {
+                break;
+            }
+            run(t);
+        }
+    }
+
+    /**
+     * Runs queued deferrable synchronization tasks while the {@link TickBudget} allows, leaving the rest for later cycles.
+     * Should only be called from the game thread, or from whatever is driving the {@link World} in its place.
+     */
+    public void runDeferrableTasks() {
+        for (int amount = 0; ; amount++) {
+            if (amount >= MINIMUM_DEFERRABLE_TASKS && !budget.hasRemaining()) {
+                if (!deferrableTasks.isEmpty()) {
+                    budget.recordDeferral();
+                }
+                break;
+            }
+
+            Runnable t = deferrableTasks.poll();
+            if (t == null) {
+                break;
+            }
+            run(t);
+        }
+    }
+
+    /**
+     * Runs a synchronization task, logging anything it throws.
+     *
+     * @param t The task to run.
+     */
+    private void run(Runnable t) {
+        try {
+            t.run();
+        } catch (Exception e) {
+            LOGGER.catching(e);
+        }
+    }
+
+    /**
+     * Delivers every queued {@link GameFuture} completion. Should only be called from the game thread, or from whatever is
+     * driving the {@link World} in its place.
+     */
+    public void runCompletions() {
+        for (; ; ) {
+            Runnable t = completions.poll();
+            if (t == null) {
+                break;
+            }
+
+            run(t);
+        }
+    }
+
     /**
      * Queues {@code t} to be executed on this game service thread.
      *
@@ -130,35 +256,143 @@ public final class GameService extends AbstractScheduledService {
     }
 
     /**
-     * Executes {@code t} using the backing cached thread pool. Tasks submitted this way should generally be short and low
-     * priority.
+     * Queues the low priority {@code t} to be executed on this game service thread. Unlike {@code sync(Runnable)}, it may be
+     * carried over to a later cycle when the current one has no budget left.
+     *
+     * @param t The task to be queued.
+     */
+    public void syncDeferrable(Runnable t) {
+        deferrableTasks.add(t);
+    }
+
+    /**
+     * Executes {@code t} on the {@link WorkerPool} as {@code MAINTENANCE} work. Tasks submitted this way should generally be
+     * short and low priority.
+     *
+     * @param t The task to execute.
+     * @return {@code true} if the task was accepted, {@code false} if it was rejected.
+     */
+    public boolean execute(Runnable t) {
+        return execute(WorkPriority.MAINTENANCE, null, t);
+    }
+
+    /**
+     * Executes {@code t} on the {@link WorkerPool}.
      *
+     * @param priority The priority of the task.
+     * @param key The key to order the task by, such as a player, {@code null} if it does not need to be ordered.
      * @param t The task to execute.
+     * @return {@code true} if the task was accepted, {@code false} if it was rejected.
      */
-    public void execute(Runnable t) {
-        executorService.execute(t);
+    public boolean execute(WorkPriority priority, Object key, Runnable t) {
+        return workers.execute(priority, key, t);
     }
 
     /**
-     * Executes the result-bearing {@code t} using the backing cached thread pool. Tasks submitted this way should generally
-     * be short and low priority.
+     * Executes the result-bearing {@code t} on the {@link WorkerPool} as {@code MAINTENANCE} work. Tasks submitted this way
+     * should generally be short and low priority.
      *
      * @param t The task to execute.
      * @return The {@link ListenableFuture} to track completion of the task.
      */
     public <T> ListenableFuture<T> submit(Callable<T> t) {
-        return executorService.submit(t);
+        return submit(WorkPriority.MAINTENANCE, null, t);
     }
 
     /**
-     * Executes {@code t} using the backing cached thread pool. Tasks submitted this way should generally be short and low
-     * priority.
+     * Executes the result-bearing {@code t} on the {@link WorkerPool}.
      *
+     * @param priority The priority of the task.
+     * @param key The key to order the task by, such as a player, {@code null} if it does not need to be ordered.
      * @param t The task to execute.
-     * @return The {@link ListenableFuture} to track completion of the task.
+     * @return The {@link ListenableFuture} to track completion of the task, failed if the task was rejected.
+     */
+    public <T> ListenableFuture<T> submit(WorkPriority priority, Object key, Callable<T> t) {
+        return workers.submit(priority, key, t);
+    }
+
+    /**
+     * Executes {@code t} on the {@link WorkerPool} as {@code PLUGIN} work, and delivers its result on the game thread through
+     * the returned {@link GameFuture}. Use this for slow work whose result is needed by the game, like database lookups.
+     *
+     * @param t The task to execute.
+     * @return The {@code GameFuture} that receives the result.
+     */
+    public <T> GameFuture<T> async(Callable<T> t) {
+        return async(null, t);
+    }
+
+    /**
+     * Executes {@code t} on behalf of {@code owner} on the {@link WorkerPool} as {@code PLUGIN} work, and delivers its result
+     * on the game thread through the returned {@link GameFuture}. Work for the same owner runs in the order it was submitted,
+     * and the future is cancelled if {@code owner} logs out before then. Should only be called from the game thread.
+     *
+     * @param owner The {@link Player} to cancel the future for on logout, {@code null} for no owner.
+     * @param t The task to execute.
+     * @return The {@code GameFuture} that receives the result.
+     */
+    public <T> GameFuture<T> async(Player owner, Callable<T> t) {
+        ListenableFuture<T> future = workers.submit(WorkPriority.PLUGIN, owner, t);
+        GameFuture<T> gameFuture = new GameFuture<>(future, owner);
+        if (owner != null) {
+            owner.getFutures().add(gameFuture);
+        }
+
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                gameFuture.succeed(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                gameFuture.fail(t);
+            }
+        }, completions::add);
+        return gameFuture;
+    }
+
+    /**
+     * @return The budget that decides if deferrable work can still run on the current cycle.
+     */
+    public TickBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return The profiler that times the phases of every cycle.
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return The worker threads that run asynchronous tasks.
+     */
+    public WorkerPool getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @return The value of {@code System.nanoTime()} when the current cycle started. Should only be called from the game
+     * thread.
+     */
+    public long getTickStart() {
+        return tickStart;
+    }
+
+    /**
+     * @return The duration of the last completed cycle, in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return The amount of cycles that have completed.
      */
-    public ListenableFuture<?> submit(Runnable t) {
-        return executorService.submit(t);
+    public long getTickCount() {
+        return tickCount;
     }
 
     /**
@@ -0,0 +1,143 @@
+package io.luna.game;
+
+import io.luna.util.TimeHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides if deferrable work can still run on the current cycle. Critical phases, processing tasks and synchronization,
+ * always run. Deferrable work, such as low priority synchronization tasks and auto saves, only runs while the cycle
+ * is within its budget and is otherwise carried over to the next cycle. Work that runs before the critical phases
+ * leaves room for them, based on how long they have recently taken. Overruns are logged with a breakdown by the {@link
+ * TickProfiler}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TickBudget {
+
+    /**
+     * The length of a single cycle, in nanoseconds.
+     */
+    private static final long CYCLE_NANOS = TimeUnit.MILLISECONDS.toNanos(GameService.TICK_MILLIS);
+
+    /**
+     * The weight given to the most recent sample in the moving average.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * The time into a cycle after which deferrable work stops running, in nanoseconds.
+     */
+    private final long budgetNanos;
+
+    /**
+     * The amount of cycles that ran past their length.
+     */
+    private final LongAdder overruns = new LongAdder();
+
+    /**
+     * The amount of times deferrable work was carried over to the next cycle.
+     */
+    private final LongAdder deferrals = new LongAdder();
+
+    /**
+     * The time cycles ran past their length by.
+     */
+    private final TimeHistogram overrunTimes = new TimeHistogram();
+
+    /**
+     * The moving average of the time taken by the critical phases, in nanoseconds. Only accessed by the game thread.
+     */
+    private double criticalNanos;
+
+    /**
+     * If the critical phases have ran on the current cycle. Only accessed by the game thread.
+     */
+    private boolean criticalDone;
+
+    /**
+     * The value of {@code System.nanoTime()} when the current cycle started. Only accessed by the game thread.
+     */
+    private long tickStart;
+
+    /**
+     * Creates a new {@link TickBudget}.
+     *
+     * @param budgetNanos The time into a cycle after which deferrable work stops running, in nanoseconds.
+     */
+    public TickBudget(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Marks the start of a new cycle.
+     *
+     * @param start The value of {@code System.nanoTime()} when the cycle started.
+     */
+    void startTick(long start) {
+        tickStart = start;
+        criticalDone = false;
+    }
+
+    /**
+     * Records how long the current cycle took, as an overrun if it ran past its length.
+     *
+     * @param nanos The time taken, in nanoseconds.
+     */
+    void finishTick(long nanos) {
+        if (nanos > CYCLE_NANOS) {
+            overruns.increment();
+            overrunTimes.record(nanos - CYCLE_NANOS);
+        }
+    }
+
+    /**
+     * Records how long the critical phases took on the current cycle.
+     *
+     * @param nanos The time taken, in nanoseconds.
+     */
+    public void recordCritical(long nanos) {
+        criticalNanos += SMOOTHING * (nanos - criticalNanos);
+        criticalDone = true;
+    }
+
+    /**
+     * Determines if deferrable work can still run on the current cycle. Should only be called from the game thread.
+     *
+     * @return {@code true} if there is budget remaining.
+     */
+    public boolean hasRemaining() {
+        long elapsed = System.nanoTime() - tickStart;
+        double reserved = criticalDone ? 0 : criticalNanos;
+        return elapsed + reserved < budgetNanos;
+    }
+
+    /**
+     * Records that deferrable work was carried over to the next cycle.
+     */
+    public void recordDeferral() {
+        deferrals.increment();
+    }
+
+    /**
+     * @return The amount of cycles that ran past their length.
+     */
+    public long getOverruns() {
+        return overruns.sum();
+    }
+
+    /**
+     * @return The amount of times deferrable work was carried over to the next cycle.
+     */
+    public long getDeferrals() {
+        return deferrals.sum();
+    }
+
+    /**
+     * @return The time cycles ran past their length by.
+     */
+    public TimeHistogram getOverrunTimes() {
+        return overrunTimes;
+    }
+}
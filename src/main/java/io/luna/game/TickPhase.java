@@ -0,0 +1,60 @@
+package io.luna.game;
+
+/**
+ * An enumerated type whose elements represent the phases of a cycle timed by the {@link TickProfiler}, in the order they
+ * run.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public enum TickPhase {
+
+    /**
+     * Running synchronization tasks.
+     */
+    SYNC_TASKS,
+
+    /**
+     * Delivering {@link GameFuture} completions.
+     */
+    COMPLETIONS,
+
+    /**
+     * Running deferrable synchronization tasks.
+     */
+    DEFERRABLE_TASKS,
+
+    /**
+     * Logging in queued players.
+     */
+    LOGINS,
+
+    /**
+     * Processing cycle based tasks.
+     */
+    TASKS,
+
+    /**
+     * Preparing mobs for synchronization.
+     */
+    PRE_SYNCHRONIZE,
+
+    /**
+     * Synchronizing every player with their surroundings.
+     */
+    SYNCHRONIZE,
+
+    /**
+     * Resetting mobs after synchronization.
+     */
+    POST_SYNCHRONIZE,
+
+    /**
+     * Logging out queued players.
+     */
+    LOGOUTS,
+
+    /**
+     * Auto saving players.
+     */
+    AUTO_SAVES
+}
@@ -0,0 +1,290 @@
+package io.luna.game;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Times every {@link TickPhase} of each cycle, along with the amount of players and npcs and the bytes allocated by the game
+ * thread, and keeps the most recent cycles in a fixed-size ring. A breakdown of every cycle that takes longer than the
+ * threshold is logged. Nothing is allocated while recording, so it is always enabled. Should only be used from the game
+ * thread.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TickProfiler {
+
+    /**
+     * The timings of a single cycle.
+     */
+    public static final class Sample {
+
+        /**
+         * The time taken by each phase, in nanoseconds, by ordinal.
+         */
+        private final long[] phaseNanos = new long[TickPhase.values().length];
+
+        /**
+         * The cycle this sample is for.
+         */
+        private long tick;
+
+        /**
+         * The time taken by the whole cycle, in nanoseconds.
+         */
+        private long totalNanos;
+
+        /**
+         * The amount of players online at the end of the cycle.
+         */
+        private int players;
+
+        /**
+         * The amount of npcs at the end of the cycle.
+         */
+        private int npcs;
+
+        /**
+         * The amount of bytes allocated by the game thread during the cycle, or {@code -1} if not supported.
+         */
+        private long allocatedBytes;
+
+        /**
+         * Creates a new, empty {@link Sample}.
+         */
+        private Sample() {
+        }
+
+        /**
+         * Copies the values of {@code other} into this sample.
+         *
+         * @param other The sample to copy.
+         * @return This sample.
+         */
+        private Sample copyFrom(Sample other) {
+            System.arraycopy(other.phaseNanos, 0, phaseNanos, 0, phaseNanos.length);
+            tick = other.tick;
+            totalNanos = other.totalNanos;
+            players = other.players;
+            npcs = other.npcs;
+            allocatedBytes = other.allocatedBytes;
+            return this;
+        }
+
+        /**
+         * Returns the time taken by {@code phase}.
+         *
+         * @param phase The phase.
+         * @return The time taken, in nanoseconds.
+         */
+        public long getPhaseNanos(TickPhase phase) {
+            return phaseNanos[phase.ordinal()];
+        }
+
+        /**
+         * @return The cycle this sample is for.
+         */
+        public long getTick() {
+            return tick;
+        }
+
+        /**
+         * @return The time taken by the whole cycle, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return The amount of players online at the end of the cycle.
+         */
+        public int getPlayers() {
+            return players;
+        }
+
+        /**
+         * @return The amount of npcs at the end of the cycle.
+         */
+        public int getNpcs() {
+            return npcs;
+        }
+
+        /**
+         * @return The amount of bytes allocated by the game thread during the cycle, or {@code -1} if not supported.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("cycle ").append(tick).append(": ").append(millis(totalNanos)).append(" ms, ");
+            sb.append(players).append(" players, ").append(npcs).append(" npcs");
+            if (allocatedBytes != -1) {
+                sb.append(", ").append(allocatedBytes / 1024).append(" KiB allocated");
+            }
+            for (TickPhase phase : TickPhase.values()) {
+                sb.append(", ").append(phase.name().toLowerCase()).append(' ');
+                sb.append(millis(phaseNanos[phase.ordinal()])).append(" ms");
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Formats {@code nanos} as milliseconds with two decimal places.
+         *
+         * @param nanos The nanoseconds.
+         * @return The formatted milliseconds.
+         */
+        private static String millis(long nanos) {
+            return String.format("%.2f", nanos / 1_000_000.0);
+        }
+    }
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(TickProfiler.class);
+
+    /**
+     * The amount of recent cycles kept, about two and a half minutes worth.
+     */
+    public static final int HISTORY = 256;
+
+    /**
+     * Used to measure the bytes allocated by the game thread, {@code null} if not supported.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    /**
+     * The ring of recent cycles.
+     */
+    private final Sample[] history = new Sample[HISTORY];
+
+    /**
+     * The time a cycle can take before its breakdown is logged, in nanoseconds.
+     */
+    private final long slowNanos;
+
+    /**
+     * The sample of the cycle currently being recorded.
+     */
+    private Sample current;
+
+    /**
+     * The amount of cycles recorded.
+     */
+    private long recorded;
+
+    /**
+     * The value of {@code System.nanoTime()} when the cycle started.
+     */
+    private long tickStart;
+
+    /**
+     * The value of {@code System.nanoTime()} when the last phase ended.
+     */
+    private long lastMark;
+
+    /**
+     * The amount of bytes allocated by the game thread when the cycle started.
+     */
+    private long allocatedStart;
+
+    /**
+     * Creates a new {@link TickProfiler}.
+     *
+     * @param slowNanos The time a cycle can take before its breakdown is logged, in nanoseconds.
+     */
+    public TickProfiler(long slowNanos) {
+        this.slowNanos = slowNanos;
+        for (int i = 0; i < history.length; i++) {
+            history[i] = new Sample();
+        }
+        current = history[0];
+    }
+
+    /**
+     * Starts recording a cycle.
+     *
+     * @param tick The cycle.
+     * @param start The value of {@code System.nanoTime()} when the cycle started.
+     */
+    public void start(long tick, long start) {
+        current = history[(int) (recorded % HISTORY)];
+        Arrays.fill(current.phaseNanos, 0);
+        current.tick = tick;
+        tickStart = start;
+        lastMark = start;
+        allocatedStart = allocatedBytes();
+    }
+
+    /**
+     * Records that {@code phase} has ended, taking the time since the last phase ended.
+     *
+     * @param phase The phase.
+     */
+    public void mark(TickPhase phase) {
+        long now = System.nanoTime();
+        current.phaseNanos[phase.ordinal()] += now - lastMark;
+        lastMark = now;
+    }
+
+    /**
+     * Finishes recording the cycle, and logs its breakdown if it was slow.
+     *
+     * @param players The amount of players online.
+     * @param npcs The amount of npcs.
+     */
+    public void finish(int players, int npcs) {
+        current.totalNanos = System.nanoTime() - tickStart;
+        current.players = players;
+        current.npcs = npcs;
+        current.allocatedBytes = allocatedStart == -1 ? -1 : allocatedBytes() - allocatedStart;
+        recorded++;
+
+        if (current.totalNanos > slowNanos) {
+            LOGGER.warn("Slow {}", current);
+        }
+    }
+
+    /**
+     * Copies the recorded cycles, starting with the most recent.
+     *
+     * @return The recent cycles.
+     */
+    public ImmutableList<Sample> getHistory() {
+        int amount = (int) Math.min(recorded, HISTORY);
+        ImmutableList.Builder<Sample> samples = ImmutableList.builder();
+        for (int i = 1; i <= amount; i++) {
+            samples.add(new Sample().copyFrom(history[(int) ((recorded - i) % HISTORY)]));
+        }
+        return samples.build();
+    }
+
+    /**
+     * @return The amount of bytes allocated by the game thread so far, or {@code -1} if not supported.
+     */
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return The {@link ThreadMXBean} used to measure allocated bytes, or {@code null} if not supported.
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+}
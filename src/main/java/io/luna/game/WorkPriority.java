@@ -0,0 +1,60 @@
+package io.luna.game;
+
+/**
+ * An enumerated type whose elements represent the classes of work ran by the {@link WorkerPool}, in the order they are
+ * taken off of its queue. Each class has its own limit on the amount of work waiting to run.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public enum WorkPriority {
+
+    /**
+     * Loading and saving players. Never rejected, work past the limit is ran by the submitting thread instead.
+     */
+    PERSISTENCE(4096, true),
+
+    /**
+     * Work requested by plugins and players, such as decoding messages on the asynchronous lane. Rejected past the limit.
+     */
+    PLUGIN(1024, false),
+
+    /**
+     * Low priority background work, such as reloading plugins. Rejected past the limit.
+     */
+    MAINTENANCE(256, false);
+
+    /**
+     * The maximum amount of work of this class waiting to run.
+     */
+    private final int limit;
+
+    /**
+     * If work past the limit is ran by the submitting thread rather than being rejected.
+     */
+    private final boolean callerRuns;
+
+    /**
+     * Creates a new {@link WorkPriority}.
+     *
+     * @param limit The maximum amount of work of this class waiting to run.
+     * @param callerRuns If work past the limit is ran by the submitting thread rather than being rejected.
+     */
+    WorkPriority(int limit, boolean callerRuns) {
+        this.limit = limit;
+        this.callerRuns = callerRuns;
+    }
+
+    /**
+     * @return The maximum amount of work of this class waiting to run.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return {@code true} if work past the limit is ran by the submitting thread rather than being rejected.
+     */
+    public boolean isCallerRuns() {
+        return callerRuns;
+    }
+}
@@ -0,0 +1,347 @@
+package io.luna.game;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.util.TimeHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed amount of worker threads that run work off of the game thread. Work is taken off of a single queue in the order
+ * of its {@link WorkPriority}, and each priority has its own limit on the amount of work waiting to run. Work submitted
+ * with the same key, such as a player, is ran one at a time in the order it was submitted.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class WorkerPool {
+
+    /**
+     * The statistics of a single {@link WorkPriority}.
+     */
+    public static final class Statistics {
+
+        /**
+         * The amount of work waiting to run.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        /**
+         * The amount of work that has ran.
+         */
+        private final LongAdder completed = new LongAdder();
+
+        /**
+         * The amount of work rejected past the limit.
+         */
+        private final LongAdder rejected = new LongAdder();
+
+        /**
+         * The amount of work ran by the submitting thread past the limit.
+         */
+        private final LongAdder callerRuns = new LongAdder();
+
+        /**
+         * The time in between work being submitted and starting to run.
+         */
+        private final TimeHistogram waitTimes = new TimeHistogram();
+
+        /**
+         * The time work took to run.
+         */
+        private final TimeHistogram runTimes = new TimeHistogram();
+
+        /**
+         * @return The amount of work waiting to run.
+         */
+        public int getPending() {
+            return pending.get();
+        }
+
+        /**
+         * @return The amount of work that has ran.
+         */
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        /**
+         * @return The amount of work rejected past the limit.
+         */
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * @return The amount of work ran by the submitting thread past the limit.
+         */
+        public long getCallerRuns() {
+            return callerRuns.sum();
+        }
+
+        /**
+         * @return The time in between work being submitted and starting to run.
+         */
+        public TimeHistogram getWaitTimes() {
+            return waitTimes;
+        }
+
+        /**
+         * @return The time work took to run.
+         */
+        public TimeHistogram getRunTimes() {
+            return runTimes;
+        }
+    }
+
+    /**
+     * A single unit of work, ordered by priority and then by submission.
+     */
+    private final class Work implements Runnable, Comparable<Work> {
+
+        /**
+         * The priority of this work.
+         */
+        private final WorkPriority priority;
+
+        /**
+         * The key this work is ordered by, {@code null} if it is not ordered.
+         */
+        private final Object key;
+
+        /**
+         * The task to run.
+         */
+        private final Runnable task;
+
+        /**
+         * The order this work was submitted in.
+         */
+        private final long sequence = sequences.getAndIncrement();
+
+        /**
+         * The value of {@code System.nanoTime()} when this work was submitted.
+         */
+        private final long submitted = System.nanoTime();
+
+        /**
+         * Creates a new {@link Work}.
+         *
+         * @param priority The priority of this work.
+         * @param key The key this work is ordered by, {@code null} if it is not ordered.
+         * @param task The task to run.
+         */
+        private Work(WorkPriority priority, Object key, Runnable task) {
+            this.priority = priority;
+            this.key = key;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            Statistics stats = statistics[priority.ordinal()];
+            stats.pending.decrementAndGet();
+
+            long start = System.nanoTime();
+            stats.waitTimes.record(start - submitted);
+            try {
+                task.run();
+            } finally {
+                stats.runTimes.record(System.nanoTime() - start);
+                stats.completed.increment();
+                if (key != null) {
+                    release(key);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(Work other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(WorkerPool.class);
+
+    /**
+     * The amount of worker threads used by default.
+     */
+    public static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * The statistics of every priority, by ordinal.
+     */
+    private final Statistics[] statistics = new Statistics[WorkPriority.values().length];
+
+    /**
+     * Used to order work submitted with the same priority.
+     */
+    private final AtomicLong sequences = new AtomicLong();
+
+    /**
+     * The work waiting for earlier work with the same key to finish, by key. A key is present while work with it is running.
+     */
+    private final Map<Object, Queue<Work>> keyed = new HashMap<>();
+
+    /**
+     * The executor that runs work on the worker threads.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates a new {@link WorkerPool}.
+     *
+     * @param threads The amount of worker threads.
+     */
+    public WorkerPool(int threads) {
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = new Statistics();
+        }
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("LunaWorkerThread").build());
+    }
+
+    /**
+     * Runs {@code t} on a worker thread, logging anything it throws.
+     *
+     * @param priority The priority of the task.
+     * @param key The key to order the task by, {@code null} if it does not need to be ordered.
+     * @param t The task to run.
+     * @return {@code true} if the task was accepted, {@code false} if it was rejected.
+     */
+    public boolean execute(WorkPriority priority, Object key, Runnable t) {
+        return dispatch(priority, key, () -> {
+            try {
+                t.run();
+            } catch (Exception e) {
+                LOGGER.catching(e);
+            }
+        });
+    }
+
+    /**
+     * Runs the result-bearing {@code t} on a worker thread.
+     *
+     * @param priority The priority of the task.
+     * @param key The key to order the task by, {@code null} if it does not need to be ordered.
+     * @param t The task to run.
+     * @return The {@link ListenableFuture} to track completion of the task, failed with a {@link
+     * RejectedExecutionException} if the task was rejected.
+     */
+    public <T> ListenableFuture<T> submit(WorkPriority priority, Object key, Callable<T> t) {
+        ListenableFutureTask<T> task = ListenableFutureTask.create(t);
+        if (!dispatch(priority, key, task)) {
+            return Futures.immediateFailedFuture(new RejectedExecutionException(priority + " work limit reached"));
+        }
+        return task;
+    }
+
+    /**
+     * Queues {@code task} to be ran, applying the limit of {@code priority}.
+     *
+     * @param priority The priority of the task.
+     * @param key The key to order the task by, {@code null} if it does not need to be ordered.
+     * @param task The task to run.
+     * @return {@code true} if the task was accepted, {@code false} if it was rejected.
+     */
+    private boolean dispatch(WorkPriority priority, Object key, Runnable task) {
+        Statistics stats = statistics[priority.ordinal()];
+        boolean overflow = stats.pending.incrementAndGet() > priority.getLimit();
+        if (overflow && !priority.isCallerRuns()) {
+            stats.pending.decrementAndGet();
+            stats.rejected.increment();
+            return false;
+        }
+
+        Work work = new Work(priority, key, task);
+        if (key != null && !acquire(key, work)) {
+            // Queued behind earlier work with the same key, even past the limit, so the order is kept.
+            return true;
+        }
+        if (overflow) {
+            stats.callerRuns.increment();
+            work.run();
+        } else {
+            executor.execute(work);
+        }
+        return true;
+    }
+
+    /**
+     * Attempts to start running work with {@code key}, or queues {@code work} if work with the key is already running.
+     *
+     * @param key The key.
+     * @param work The work.
+     * @return {@code true} if {@code work} can run now, {@code false} if it was queued.
+     */
+    private boolean acquire(Object key, Work work) {
+        synchronized (keyed) {
+            Queue<Work> waiting = keyed.get(key);
+            if (waiting != null) {
+                waiting.add(work);
+                return false;
+            }
+            keyed.put(key, new ArrayDeque<>());
+            return true;
+        }
+    }
+
+    /**
+     * Starts running the next work with {@code key}, if there is any. Once shut down, the remaining work is ran right away.
+     *
+     * @param key The key.
+     */
+    private void release(Object key) {
+        Work next;
+        synchronized (keyed) {
+            next = keyed.get(key).poll();
+            if (next == null) {
+                keyed.remove(key);
+                return;
+            }
+        }
+        try {
+            executor.execute(next);
+        } catch (RejectedExecutionException e) {
+            next.run();
+        }
+    }
+
+    /**
+     * Stops accepting new work, and waits for all accepted work to finish.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+
+    /**
+     * Returns the statistics of {@code priority}.
+     *
+     * @param priority The priority.
+     * @return The statistics.
+     */
+    public Statistics getStatistics(WorkPriority priority) {
+        return statistics[priority.ordinal()];
+    }
+}
@@ -1,7 +1,14 @@
 package io.luna.game.event;
 
 /**
- * An event passed through an {@link EventListenerPipeline} to be intercepted by {@link EventListener}s.
+ * An event passed through an {@link EventListenerPipeline} to be intercepted by {@link EventListener}s. The state of a
+ * traversal is kept on the event rather than the pipeline, so the same pipeline can be traversed by nested posts and by
+ * several threads at once. An event itself should only be posted from one thread at a time.
+ * <p>
+ * <p>
+ * Events posted on hot paths, such as {@link io.luna.game.event.impl.PositionChangeEvent}, are mutable and reused by the
+ * posting thread instead of being allocated. Listeners must not hold on to an event once it has been posted, since its
+ * values may change on the next post.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -13,6 +20,18 @@ public class Event {
      */
     private EventListenerPipeline pipeline;
 
+    /**
+     * If the current traversal of this event has been terminated.
+     */
+    private boolean terminated;
+
+    /**
+     * Clears any references held by this event once it has been posted. Reused events override this, so the instance kept
+     * for the posting thread does not hold on to the last entity it was posted for. Does nothing if not overridden.
+     */
+    public void clear() {
+    }
+
     /**
      * Determines if this event should be intercepted, when given {@code args}. Always returns {@code true} if not overridden
      * regardless of the arguments.
@@ -25,11 +44,24 @@ public class Event {
     }
 
     /**
-     * @return {@code true} if the underlying pipeline was successfully terminated, and {@code false} if {@code pipeline}
-     * field is {@code null} or the pipeline is already terminated.
+     * Terminates the current traversal of this event, so no more {@link EventListener}s receive it.
+     *
+     * @return {@code true} if the traversal was successfully terminated, and {@code false} if this event is not passing
+     * through a pipeline or the traversal is already terminated.
      */
     public boolean terminate() {
-        return pipeline != null && pipeline.terminate();
+        if (pipeline != null && !terminated) {
+            terminated = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the current traversal of this event has been terminated.
+     */
+    public boolean isTerminated() {
+        return terminated;
     }
 
     /**
@@ -46,4 +78,11 @@ public class Event {
     protected void setPipeline(EventListenerPipeline pipeline) {
         this.pipeline = pipeline;
     }
+
+    /**
+     * Sets if the current traversal of this event has been terminated.
+     */
+    void setTerminated(boolean terminated) {
+        this.terminated = terminated;
+    }
 }
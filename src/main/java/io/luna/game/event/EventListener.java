@@ -18,13 +18,39 @@ public final class EventListener<E extends Event> {
      */
     private final Function2<E, Player, Unit> function;
 
+    /**
+     * The label this listener is reported under when profiled.
+     */
+    private final String label;
+
     /**
      * Creates a new {@link EventListener}.
      *
      * @param function The wrapped listener function.
+     * @param label The label this listener is reported under when profiled.
      */
-    public EventListener(Function2<E, Player, Unit> function) {
+    public EventListener(Function2<E, Player, Unit> function, String label) {
         this.function = function;
+        this.label = label;
+    }
+
+    /**
+     * Creates a new {@link EventListener} labelled with the class name of {@code function}.
+     *
+     * @param function The wrapped listener function.
+     */
+    public EventListener(Function2<E, Player, Unit> function) {
+        this(function, function.getClass().getName());
+    }
+
+    /**
+     * Creates a copy of this listener with a different label.
+     *
+     * @param newLabel The new label.
+     * @return The copy.
+     */
+    public EventListener<E> withLabel(String newLabel) {
+        return new EventListener<>(function, newLabel);
     }
 
     /**
@@ -33,4 +59,11 @@ public final class EventListener<E extends Event> {
     public Function2<E, Player, Unit> getFunction() {
         return function;
     }
+
+    /**
+     * @return The label this listener is reported under when profiled.
+     */
+    public String getLabel() {
+        return label;
+    }
 }
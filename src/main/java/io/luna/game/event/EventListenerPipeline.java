@@ -1,18 +1,18 @@
 package io.luna.game.event;
 
-import com.google.common.collect.Iterators;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.UnmodifiableIterator;
 import io.luna.game.model.mobile.Player;
 import io.luna.game.plugin.PluginFailureException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * A pipeline-like model that allows for an {@link Event} to be passed through it to be intercepted by each individual {@link
- * EventListener}. The traversal of the {@code Event} can be terminated at any time by invoking {@code terminate()}.
+ * EventListener}. The traversal of the {@code Event} can be terminated at any time by invoking {@code Event.terminate()}.
+ * <p>
+ * The listeners are held in an immutable snapshot that is replaced whenever one is added, so traversals never lock and
+ * never see a partially added listener. Traversals can be nested and can run on several threads at once.
  * <p>
  * Please note that {@code EventListener}s can always be added to this pipeline, but they can <strong>never</strong> be
  * removed.
@@ -27,14 +27,30 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
     private static final Logger LOGGER = LogManager.getLogger(EventListenerPipeline.class);
 
     /**
-     * A {@link List} of {@link EventListener} contained within this pipeline.
+     * A snapshot of the {@link EventListener}s contained within this pipeline.
+     */
+    private volatile ImmutableList<EventListener<E>> listeners = ImmutableList.of();
+
+    /**
+     * The profiler that traversals are recorded to, {@code null} if traversals are never profiled.
      */
-    private final List<EventListener<E>> listeners = new ArrayList<>();
+    private final ListenerProfiler profiler;
 
     /**
-     * A flag that determines if a traversal has been terminated by a {@link EventListener}.
+     * Creates a new {@link EventListenerPipeline}.
+     *
+     * @param profiler The profiler that traversals are recorded to, {@code null} if traversals are never profiled.
      */
-    private boolean terminated;
+    public EventListenerPipeline(ListenerProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Creates a new {@link EventListenerPipeline} whose traversals are never profiled.
+     */
+    public EventListenerPipeline() {
+        this(null);
+    }
 
     /**
      * Traverse the pipeline passing the {@code evt} instance to each {@link EventListener}. A full traversal over all {@code
@@ -42,16 +58,23 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
      *
      * @param evt The event to pass to each {@code EventListener}.
      * @param player The {@link Player} to pass to each {@code EventListener}, possibly {@code null}.
+     * @return {@code true} if the traversal was terminated by an {@code EventListener}.
      */
-    public void traverse(E evt, Player player) {
-        try {
-            terminated = false;
+    public boolean traverse(E evt, Player player) {
+        EventListenerPipeline previousPipeline = evt.getPipeline();
+        boolean previousTerminated = evt.isTerminated();
 
+        boolean profiled = profiler != null && profiler.isEnabled();
+        boolean timed = profiled && profiler.sample();
+        long traversalStart = timed ? System.nanoTime() : 0;
+        try {
             evt.setPipeline(this);
+            evt.setTerminated(false);
             for (EventListener<E> listener : listeners) {
-                if (terminated) {
+                if (evt.isTerminated()) {
                     break;
                 }
+                long start = timed ? System.nanoTime() : 0;
                 try {
                     listener.getFunction().apply(evt, player);
                 } catch (PluginFailureException failure) { // fail, recoverable
@@ -59,40 +82,41 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
                 } catch (Exception other) { // unknown, unrecoverable
                     throw new PluginFailureException(other);
                 }
+                if (profiled) {
+                    profiler.recordListener(listener, evt.getClass(), timed ? System.nanoTime() - start : -1);
+                }
             }
+            if (profiled) {
+                profiler.recordEvent(evt.getClass(), timed ? System.nanoTime() - traversalStart : -1);
+            }
+            return evt.isTerminated();
         } finally {
-            evt.setPipeline(null);
+            // Restore the outer traversal, if this event was posted again from one of its own listeners.
+            evt.setPipeline(previousPipeline);
+            evt.setTerminated(previousTerminated);
         }
     }
 
     /**
-     * Terminates an active traversal of this pipeline, if this pipeline is not currently being traversed then this method
-     * does nothing.
+     * Adds {@code listener} to the underlying pipeline by replacing the current snapshot. May throw a {@link
+     * ClassCastException} if the event type doesn't match the other {@link EventListener}s in this pipeline.
      *
-     * @return {@code true} if termination was successful, {@code false} if this pipeline traversal has already been
-     * terminated.
+     * @param listener The {@code PluginFunction} to add.
      */
-    public boolean terminate() {
-        if (!terminated) {
-            terminated = true;
-            return true;
-        }
-        return false;
+    @SuppressWarnings("unchecked")
+    public synchronized void add(EventListener<?> listener) {
+        listeners = ImmutableList.<EventListener<E>>builder().addAll(listeners).add((EventListener<E>) listener).build();
     }
 
     /**
-     * Adds {@code listener} to the underlying pipeline. May throw a {@link ClassCastException} if the event type doesn't
-     * match the other {@link EventListener}s in this pipeline.
-     *
-     * @param listener The {@code PluginFunction} to add.
+     * @return The amount of {@link EventListener}s in this pipeline.
      */
-    @SuppressWarnings("unchecked")
-    public void add(EventListener<?> listener) {
-        listeners.add((EventListener<E>) listener);
+    public int size() {
+        return listeners.size();
     }
 
     @Override
     public UnmodifiableIterator<EventListener<E>> iterator() {
-        return Iterators.unmodifiableIterator(listeners.iterator());
+        return listeners.iterator();
     }
 }
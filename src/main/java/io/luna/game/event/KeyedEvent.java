@@ -0,0 +1,23 @@
+package io.luna.game.event;
+
+import java.util.Objects;
+
+/**
+ * An {@link Event} that is matched by a single key, such as the name of a command or the identifier of a button. Listeners
+ * registered for a key are found with a single lookup when the event is posted, rather than by calling {@code
+ * matches(Object...)} on every listener for the event type.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public abstract class KeyedEvent extends Event {
+
+    /**
+     * @return The key of this event, never {@code null}.
+     */
+    public abstract Object getKey();
+
+    @Override
+    public boolean matches(Object... args) {
+        return args.length == 1 && Objects.equals(args[0], getKey());
+    }
+}
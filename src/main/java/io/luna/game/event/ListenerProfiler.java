@@ -0,0 +1,203 @@
+package io.luna.game.event;
+
+import com.google.common.collect.ImmutableList;
+import io.luna.util.TimeHistogram;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * A sampling profiler for {@link EventListener}s. While enabled, every call is counted, and one in {@code SAMPLE_RATE}
+ * traversals of an {@link EventListenerPipeline} are timed, for each listener and for each event type. While disabled, a
+ * traversal only reads a single flag.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ListenerProfiler {
+
+    /**
+     * The calls and sampled durations of a single listener or event type.
+     */
+    public static final class Profile {
+
+        /**
+         * The name of the listener or event type.
+         */
+        private final String name;
+
+        /**
+         * The amount of calls.
+         */
+        private final LongAdder calls = new LongAdder();
+
+        /**
+         * The sampled durations.
+         */
+        private final TimeHistogram times = new TimeHistogram();
+
+        /**
+         * Creates a new {@link Profile}.
+         *
+         * @param name The name of the listener or event type.
+         */
+        private Profile(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records a call.
+         *
+         * @param nanos The time taken in nanoseconds, or {@code -1} if the call was not timed.
+         */
+        private void record(long nanos) {
+            calls.increment();
+            if (nanos >= 0) {
+                times.record(nanos);
+            }
+        }
+
+        /**
+         * @return The estimated total time spent, the mean of the sampled durations multiplied by the amount of calls.
+         */
+        public long getTotalNanos() {
+            return times.getMeanNanos() * calls.sum();
+        }
+
+        /**
+         * @return The name of the listener or event type.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The amount of calls.
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /**
+         * @return The sampled durations.
+         */
+        public TimeHistogram getTimes() {
+            return times;
+        }
+    }
+
+    /**
+     * One in this many traversals will be timed.
+     */
+    private static final int SAMPLE_RATE = 16;
+
+    /**
+     * The profiles of every listener.
+     */
+    private final Map<EventListener<?>, Profile> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * The profiles of every event type.
+     */
+    private final Map<Class<?>, Profile> events = new ConcurrentHashMap<>();
+
+    /**
+     * If calls are currently being profiled.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * Creates a new {@link ListenerProfiler}.
+     *
+     * @param enabled If calls should be profiled right away.
+     */
+    public ListenerProfiler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return {@code true} if the next traversal should be timed.
+     */
+    boolean sample() {
+        return ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+    }
+
+    /**
+     * Records a call to {@code listener}.
+     *
+     * @param listener The listener.
+     * @param eventClass The type of event passed to the listener.
+     * @param nanos The time taken in nanoseconds, or {@code -1} if the call was not timed.
+     */
+    void recordListener(EventListener<?> listener, Class<?> eventClass, long nanos) {
+        listeners.computeIfAbsent(listener, it -> new Profile(it.getLabel() + " (" + eventClass.getSimpleName() + ")")).
+            record(nanos);
+    }
+
+    /**
+     * Records a traversal of an event.
+     *
+     * @param eventClass The type of event.
+     * @param nanos The time taken in nanoseconds, or {@code -1} if the traversal was not timed.
+     */
+    void recordEvent(Class<?> eventClass, long nanos) {
+        events.computeIfAbsent(eventClass, it -> new Profile(it.getSimpleName())).record(nanos);
+    }
+
+    /**
+     * Returns the listeners that have taken the most time.
+     *
+     * @param amount The amount of listeners.
+     * @return The profiles of the listeners, most expensive first.
+     */
+    public ImmutableList<Profile> getTopListeners(int amount) {
+        return top(listeners, amount);
+    }
+
+    /**
+     * Returns the event types that have taken the most time.
+     *
+     * @param amount The amount of event types.
+     * @return The profiles of the event types, most expensive first.
+     */
+    public ImmutableList<Profile> getTopEvents(int amount) {
+        return top(events, amount);
+    }
+
+    /**
+     * Discards every profile.
+     */
+    public void reset() {
+        listeners.clear();
+        events.clear();
+    }
+
+    /**
+     * Sorts the profiles in {@code profiles} by the total time taken.
+     *
+     * @param profiles The profiles.
+     * @param amount The amount of profiles to return.
+     * @return The most expensive profiles.
+     */
+    private static ImmutableList<Profile> top(Map<?, Profile> profiles, int amount) {
+        return ImmutableList.copyOf(profiles.values().stream().
+            sorted(Comparator.comparingLong(Profile::getTotalNanos).reversed()).limit(amount).collect(Collectors.toList()));
+    }
+
+    /**
+     * Sets if calls are currently being profiled.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return {@code true} if calls are currently being profiled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
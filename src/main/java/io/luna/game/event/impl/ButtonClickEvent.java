@@ -1,18 +1,16 @@
 package io.luna.game.event.impl;
 
 import io.luna.game.event.Event;
+import io.luna.game.event.KeyedEvent;
 import io.luna.game.model.mobile.Player;
 
-import java.util.Objects;
-
-import static com.google.common.base.Preconditions.checkState;
-
 /**
- * An {@link Event} implementation sent whenever a {@link Player} clicks a button on an interface.
+ * An {@link Event} implementation sent whenever a {@link Player} clicks a button on an interface, keyed by the identifier of
+ * the button.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class ButtonClickEvent extends Event {
+public final class ButtonClickEvent extends KeyedEvent {
 
     /**
      * The identifier for the button that was clicked.
@@ -29,9 +27,8 @@ public final class ButtonClickEvent extends Event {
     }
 
     @Override
-    public boolean matches(Object... args) {
-        checkState(args.length == 1, "args.length != 1");
-        return Objects.equals(args[0], id);
+    public Object getKey() {
+        return id;
     }
 
     /**
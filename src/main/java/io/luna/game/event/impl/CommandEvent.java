@@ -1,18 +1,15 @@
 package io.luna.game.event.impl;
 
 import io.luna.game.event.Event;
+import io.luna.game.event.KeyedEvent;
 import io.luna.game.model.mobile.Player;
 
-import java.util.Objects;
-
-import static com.google.common.base.Preconditions.checkState;
-
 /**
- * An {@link Event} implementation sent whenever a {@link Player} types a command.
+ * An {@link Event} implementation sent whenever a {@link Player} types a command, keyed by the name of the command.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class CommandEvent extends Event {
+public final class CommandEvent extends KeyedEvent {
 
     /**
      * The name of the command.
@@ -45,9 +42,8 @@ public final class CommandEvent extends Event {
     }
 
     @Override
-    public boolean matches(Object... args) {
-        checkState(args.length == 1, "args.length != 1");
-        return Objects.equals(args[0], name);
+    public Object getKey() {
+        return name;
     }
 
     /**
@@ -13,20 +13,31 @@ import io.luna.game.model.Position;
  */
 public final class PositionChangeEvent extends Event {
 
+    /**
+     * The instance reused by {@code reuse} on each thread.
+     */
+    private static final ThreadLocal<PositionChangeEvent> REUSABLE = ThreadLocal.withInitial(PositionChangeEvent::new);
+
     /**
      * The old {@link Position} of the {@link Entity}.
      */
-    private final Position oldPosition;
+    private Position oldPosition;
 
     /**
      * The new {@link Position} of the {@link Entity}.
      */
-    private final Position newPosition;
+    private Position newPosition;
 
     /**
      * The {@link Entity} changing its {@link Position}.
      */
-    private final Entity entity;
+    private Entity entity;
+
+    /**
+     * Creates a new, empty {@link PositionChangeEvent} to be reused.
+     */
+    private PositionChangeEvent() {
+    }
 
     /**
      * Creates a new {@link PositionChangeEvent}.
@@ -41,6 +52,32 @@ public final class PositionChangeEvent extends Event {
         this.entity = entity;
     }
 
+    /**
+     * Returns the {@link PositionChangeEvent} reused on the current thread, or a new one if it is still being posted.
+     *
+     * @param oldPosition The old {@link Position} of the {@link Entity}.
+     * @param newPosition The new {@link Position} of the {@link Entity}.
+     * @param entity The {@link Entity} changing its {@link Position}.
+     * @return The event.
+     */
+    public static PositionChangeEvent reuse(Position oldPosition, Position newPosition, Entity entity) {
+        PositionChangeEvent evt = REUSABLE.get();
+        if (evt.getPipeline() != null) {
+            return new PositionChangeEvent(oldPosition, newPosition, entity);
+        }
+        evt.oldPosition = oldPosition;
+        evt.newPosition = newPosition;
+        evt.entity = entity;
+        return evt;
+    }
+
+    @Override
+    public void clear() {
+        oldPosition = null;
+        newPosition = null;
+        entity = null;
+    }
+
     /**
      * @return The old {@link Position} of the {@link Entity}.
      */
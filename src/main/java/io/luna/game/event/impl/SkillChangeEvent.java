@@ -14,30 +14,41 @@ import static com.google.common.base.Preconditions.checkState;
  */
 public final class SkillChangeEvent extends Event {
 
+    /**
+     * The instance reused by {@code reuse} on each thread.
+     */
+    private static final ThreadLocal<SkillChangeEvent> REUSABLE = ThreadLocal.withInitial(SkillChangeEvent::new);
+
     /**
      * The {@link MobileEntity} this event is for.
      */
-    private final MobileEntity mob;
+    private MobileEntity mob;
 
     /**
      * The old amount of experience.
      */
-    private final double oldExperience;
+    private double oldExperience;
 
     /**
      * The old static level.
      */
-    private final int oldStaticLevel;
+    private int oldStaticLevel;
 
     /**
      * The old level.
      */
-    private final int oldLevel;
+    private int oldLevel;
 
     /**
      * The id of the skill whose experience was changed.
      */
-    private final int id;
+    private int id;
+
+    /**
+     * Creates a new, empty {@link SkillChangeEvent} to be reused.
+     */
+    private SkillChangeEvent() {
+    }
 
     /**
      * Creates a new {@link SkillChangeEvent}.
@@ -56,6 +67,35 @@ public final class SkillChangeEvent extends Event {
         this.id = id;
     }
 
+    /**
+     * Returns the {@link SkillChangeEvent} reused on the current thread. Skills change several times a cycle for every
+     * mob, so this is preferred over the constructor. A new event is returned if the reused one is still being posted.
+     *
+     * @param mob The {@link MobileEntity} this event is for.
+     * @param oldExperience The old amount of experience.
+     * @param oldStaticLevel The old static level.
+     * @param oldLevel The old level.
+     * @param id The id of the skill whose experience was changed.
+     * @return The event.
+     */
+    public static SkillChangeEvent reuse(MobileEntity mob, double oldExperience, int oldStaticLevel, int oldLevel, int id) {
+        SkillChangeEvent evt = REUSABLE.get();
+        if (evt.getPipeline() != null) {
+            return new SkillChangeEvent(mob, oldExperience, oldStaticLevel, oldLevel, id);
+        }
+        evt.mob = mob;
+        evt.oldExperience = oldExperience;
+        evt.oldStaticLevel = oldStaticLevel;
+        evt.oldLevel = oldLevel;
+        evt.id = id;
+        return evt;
+    }
+
+    @Override
+    public void clear() {
+        mob = null;
+    }
+
     @Override
     public boolean matches(Object... args) {
         checkState(args.length == 1, "args.length != 1");
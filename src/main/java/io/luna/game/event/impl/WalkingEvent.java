@@ -11,15 +11,26 @@ import io.luna.game.model.mobile.WalkingQueue.Step;
  */
 public final class WalkingEvent extends Event {
 
+    /**
+     * The instance reused by {@code reuse} on each thread.
+     */
+    private static final ThreadLocal<WalkingEvent> REUSABLE = ThreadLocal.withInitial(WalkingEvent::new);
+
     /**
      * The path that the {@link Player} will walk.
      */
-    private final Step[] path;
+    private Step[] path;
 
     /**
      * If the {@link Player} is running.
      */
-    private final boolean running;
+    private boolean running;
+
+    /**
+     * Creates a new, empty {@link WalkingEvent} to be reused.
+     */
+    private WalkingEvent() {
+    }
 
     /**
      * Creates a new {@link WalkingEvent}.
@@ -32,6 +43,28 @@ public final class WalkingEvent extends Event {
         this.running = running;
     }
 
+    /**
+     * Returns the {@link WalkingEvent} reused on the current thread, or a new one if it is still being posted.
+     *
+     * @param path The path that the {@link Player} will walk.
+     * @param running If the {@link Player} is running.
+     * @return The event.
+     */
+    public static WalkingEvent reuse(Step[] path, boolean running) {
+        WalkingEvent evt = REUSABLE.get();
+        if (evt.getPipeline() != null) {
+            return new WalkingEvent(path, running);
+        }
+        evt.path = path;
+        evt.running = running;
+        return evt;
+    }
+
+    @Override
+    public void clear() {
+        path = null;
+    }
+
     /**
      * @return The path that the {@link Player} will walk.
      */
@@ -179,7 +179,14 @@ public abstract class Entity {
         Region toRegion = world.getRegions().getRegion(next);
         toRegion.addEntity(this);
 
-        plugins.post(new PositionChangeEvent(position, newPosition, this));
+        if (plugins.hasListeners(PositionChangeEvent.class)) {
+            PositionChangeEvent evt = PositionChangeEvent.reuse(position, newPosition, this);
+            try {
+                plugins.post(evt);
+            } finally {
+                evt.clear();
+            }
+        }
         position = newPosition;
     }
 
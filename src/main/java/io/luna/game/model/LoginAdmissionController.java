@@ -0,0 +1,95 @@
+package io.luna.game.model;
+
+import io.luna.game.GameService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides how many queued {@link io.luna.game.model.mobile.Player}s are logged in on each cycle. Rather than a fixed amount,
+ * each batch is sized from the time left in the current cycle, how long the rest of the cycle has recently taken, and how
+ * long a single login has recently taken. Recent durations are tracked as exponentially weighted moving averages.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class LoginAdmissionController {
+
+    /**
+     * The fraction of a cycle that processing should fill, leaving headroom for spikes.
+     */
+    private static final double TARGET_UTILIZATION = 0.75;
+
+    /**
+     * The amount of players that are always logged in per cycle, so the queue drains even while the server is overloaded.
+     */
+    private static final int MINIMUM_BATCH = 5;
+
+    /**
+     * The largest amount of players that can be logged in per cycle.
+     */
+    private static final int MAXIMUM_BATCH = 250;
+
+    /**
+     * The weight given to the most recent sample in the moving averages.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * The budget for a single cycle, in nanoseconds.
+     */
+    private static final long CYCLE_NANOS = TimeUnit.MILLISECONDS.toNanos(GameService.TICK_MILLIS);
+
+    /**
+     * The moving average of the time taken by the game loop, in nanoseconds.
+     */
+    private double loopNanos;
+
+    /**
+     * The moving average of the time taken to log in a single player, in nanoseconds. Starts with a cautious guess of one
+     * millisecond.
+     */
+    private double loginNanos = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Computes how many players can be logged in on this cycle.
+     *
+     * @param elapsedNanos The time already spent on this cycle, in nanoseconds.
+     * @return The amount of players to log in.
+     */
+    int getBatchSize(long elapsedNanos) {
+        double remaining = CYCLE_NANOS * TARGET_UTILIZATION - elapsedNanos - loopNanos;
+        long batch = (long) (remaining / loginNanos);
+        return (int) Math.max(MINIMUM_BATCH, Math.min(MAXIMUM_BATCH, batch));
+    }
+
+    /**
+     * Records how long a batch of logins took.
+     *
+     * @param amount The amount of players logged in.
+     * @param nanos The time taken, in nanoseconds.
+     */
+    void recordLogins(int amount, long nanos) {
+        if (amount > 0) {
+            loginNanos = average(loginNanos, (double) nanos / amount);
+        }
+    }
+
+    /**
+     * Records how long the game loop took.
+     *
+     * @param nanos The time taken, in nanoseconds.
+     */
+    void recordLoop(long nanos) {
+        loopNanos = average(loopNanos, nanos);
+    }
+
+    /**
+     * Folds {@code sample} into the moving average {@code current}.
+     *
+     * @param current The current average.
+     * @param sample The new sample.
+     * @return The new average.
+     */
+    private static double average(double current, double sample) {
+        return current + SMOOTHING * (sample - current);
+    }
+}
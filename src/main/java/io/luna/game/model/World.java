@@ -1,18 +1,29 @@
 package io.luna.game.model;
 
 import io.luna.LunaContext;
+import io.luna.game.TickBudget;
+import io.luna.game.TickPhase;
+import io.luna.game.TickProfiler;
 import io.luna.game.model.mobile.MobileEntity;
 import io.luna.game.model.mobile.MobileEntityList;
 import io.luna.game.model.mobile.Npc;
 import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.PlayerSerializer;
 import io.luna.game.model.region.RegionManager;
 import io.luna.game.task.Task;
 import io.luna.game.task.TaskManager;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.OutboundGameMessage;
+import io.luna.net.msg.out.SendGameInfoMessage;
 import io.luna.util.StringUtils;
 
+import java.util.ArrayDeque;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
 
 /**
  * Manages the various types in the {@code io.luna.game.model} package and subpackages.
@@ -22,9 +33,19 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 public final class World {
 
     /**
-     * The total amount of {@link Player}s that can be either logged in per game loop.
+     * The total amount of {@link Player}s that can be logged out per game loop.
      */
-    public static final int LOGIN_THRESHOLD = 50;
+    public static final int LOGOUT_THRESHOLD = 50;
+
+    /**
+     * The amount of game loops in between auto saves of every {@link Player}, roughly five minutes.
+     */
+    private static final int AUTO_SAVE_INTERVAL = 500;
+
+    /**
+     * The amount of game loops in between queue position updates for {@link Player}s awaiting login.
+     */
+    private static final int QUEUE_POSITION_INTERVAL = 5;
 
     /**
      * An instance of the {@link LunaContext}.
@@ -46,11 +67,41 @@ public final class World {
      */
     private final Queue<Player> logins = new ConcurrentLinkedQueue<>();
 
+    /**
+     * A concurrent {@link Set} of the {@link Player}s in {@code logins}, used to detect duplicates.
+     */
+    private final Set<Player> pendingLogins = ConcurrentHashMap.newKeySet();
+
     /**
      * A {@link Queue} of {@link Player}s awaiting logout.
      */
     private final Queue<Player> logouts = new ConcurrentLinkedQueue<>();
 
+    /**
+     * A concurrent {@link Set} of the {@link Player}s in {@code logouts}, used to detect duplicates.
+     */
+    private final Set<Player> pendingLogouts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Decides how many {@link Player}s are logged in per game loop.
+     */
+    private final LoginAdmissionController admission = new LoginAdmissionController();
+
+    /**
+     * The amount of game loops since queue positions were last sent, only accessed by the game thread.
+     */
+    private int queuePositionTicks;
+
+    /**
+     * The {@link Player}s waiting to be auto saved, only accessed by the game thread.
+     */
+    private final Queue<Player> autoSaves = new ArrayDeque<>();
+
+    /**
+     * The amount of game loops since auto saves were last queued, only accessed by the game thread.
+     */
+    private int autoSaveTicks;
+
     /**
      * The {@link RegionManager} that manages region caching.
      */
@@ -90,21 +141,49 @@ public final class World {
      * @param player The {@link Player} to be logged in.
      */
     public void queueLogin(Player player) {
-        if (player.getState() == EntityState.IDLE && !logins.contains(player)) {
+        if (player.getState() == EntityState.IDLE && pendingLogins.add(player)) {
             logins.add(player);
         }
     }
 
     /**
-     * Dequeues the {@link Queue} of {@link Player}s awaiting login.
+     * Dequeues the {@link Queue} of {@link Player}s awaiting login. The amount of players logged in is decided by the {@link
+     * LoginAdmissionController}, and players left in the queue are periodically told their position in it.
      */
     public void dequeueLogins() {
-        for (int amount = 0; amount < LOGIN_THRESHOLD; amount++) {
+        long start = System.nanoTime();
+        int limit = admission.getBatchSize(start - context.getService().getTickStart());
+
+        int amount = 0;
+        while (amount < limit) {
             Player player = logins.poll();
             if (player == null) {
                 break;
             }
+            pendingLogins.remove(player);
+            if (!player.getSession().getChannel().isActive()) {
+                // Disconnected while waiting in the queue.
+                continue;
+            }
             players.add(player);
+            context.getRecorder().recordLogin(player);
+            amount++;
+        }
+        admission.recordLogins(amount, System.nanoTime() - start);
+
+        if (++queuePositionTicks >= QUEUE_POSITION_INTERVAL) {
+            queuePositionTicks = 0;
+            sendQueuePositions();
+        }
+    }
+
+    /**
+     * Tells every {@link Player} awaiting login their position in the queue.
+     */
+    private void sendQueuePositions() {
+        int position = 1;
+        for (Player player : logins) {
+            player.queue(new SendGameInfoMessage("You are in position " + position++ + " of the login queue."));
         }
     }
 
@@ -112,11 +191,22 @@ public final class World {
      * Runs one iteration of the main game loop which includes processing {@link Task}s and synchronization.
      */
     public void runGameLoop() {
+        TickProfiler profiler = context.getService().getProfiler();
+        long start = System.nanoTime();
+
         tasks.runTaskIteration();
+        profiler.mark(TickPhase.TASKS);
 
         synchronizer.preSynchronize();
+        profiler.mark(TickPhase.PRE_SYNCHRONIZE);
         synchronizer.synchronize();
+        profiler.mark(TickPhase.SYNCHRONIZE);
         synchronizer.postSynchronize();
+        profiler.mark(TickPhase.POST_SYNCHRONIZE);
+
+        long elapsed = System.nanoTime() - start;
+        admission.recordLoop(elapsed);
+        context.getService().getBudget().recordCritical(elapsed);
     }
 
     /**
@@ -125,25 +215,100 @@ public final class World {
      * @param player The {@link Player} to be logged out.
      */
     public void queueLogout(Player player) {
-        if (player.getState() == EntityState.ACTIVE && !logouts.contains(player)) {
+        if (player.getState() == EntityState.ACTIVE && pendingLogouts.add(player)) {
             logouts.add(player);
         }
     }
 
     /**
-     * Dequeues the {@link Queue} of {@link Player}s awaiting logout.
+     * Dequeues the {@link Queue} of {@link Player}s awaiting logout. Logouts are not deferred, since a player cannot log
+     * back in until their previous session has been removed from the world.
      */
     public void dequeueLogouts() {
-        for (int amount = 0; amount < LOGIN_THRESHOLD; amount++) {
+        for (int amount = 0; amount < LOGOUT_THRESHOLD; amount++) {
             Player player = logouts.poll();
             if (player == null) {
                 break;
             }
+            pendingLogouts.remove(player);
             // TODO: Do not remove if still in combat
+            context.getRecorder().recordLogout(player);
             players.remove(player);
         }
     }
 
+    /**
+     * Queues every {@link Player} to be auto saved once every {@code AUTO_SAVE_INTERVAL} game loops, and saves queued players
+     * while the {@link TickBudget} allows. At least one player is saved per game loop, so auto saves always finish.
+     */
+    public void runAutoSaves() {
+        if (++autoSaveTicks >= AUTO_SAVE_INTERVAL) {
+            autoSaveTicks = 0;
+            if (autoSaves.isEmpty()) {
+                players.forEach(autoSaves::add);
+            }
+        }
+
+        TickBudget budget = context.getService().getBudget();
+        for (int amount = 0; ; amount++) {
+            if (amount > 0 && !budget.hasRemaining()) {
+                if (!autoSaves.isEmpty()) {
+                    budget.recordDeferral();
+                }
+                break;
+            }
+
+            Player player = autoSaves.poll();
+            if (player == null) {
+                break;
+            }
+            if (player.getState() == EntityState.ACTIVE) {
+                new PlayerSerializer(player).asyncSave(context.getService());
+            }
+        }
+    }
+
+    /**
+     * Sends {@code msg} to every {@link Player} that passes {@code filter}. The message is encoded once and its payload is
+     * shared by all of the sessions it's written to, so it must not depend on the {@code Player} it's written for; {@code
+     * writeMessage(Player)} will be invoked with {@code null}.
+     *
+     * @param msg The message to broadcast.
+     * @param filter The filter that determines which players receive the message.
+     */
+    public void broadcast(OutboundGameMessage msg, Predicate<Player> filter) {
+        GameMessage shared = context.getStatistics().encode(msg, null);
+        try {
+            for (Player player : players) {
+                if (filter.test(player)) {
+                    player.getSession().queue(shared.retainedDuplicate(), msg.getPriority());
+                }
+            }
+        } finally {
+            shared.getPayload().release();
+        }
+    }
+
+    /**
+     * Sends {@code msg} to every {@link Player} online, see {@code broadcast(OutboundGameMessage, Predicate)}.
+     *
+     * @param msg The message to broadcast.
+     */
+    public void broadcast(OutboundGameMessage msg) {
+        broadcast(msg, it -> true);
+    }
+
+    /**
+     * Sends {@code msg} to every {@link Player} that can view {@code position}, see {@code broadcast(OutboundGameMessage,
+     * Predicate)}.
+     *
+     * @param msg The message to broadcast.
+     * @param position The position that players must be able to view.
+     */
+    public void broadcast(OutboundGameMessage msg, Position position) {
+        broadcast(msg, it -> it.getPosition().isViewable(position));
+    }
+
     /**
      * Retrieves a {@link Player} instance by its {@code username}.
      *
@@ -119,6 +119,14 @@ public abstract class MobileEntity extends Entity {
         walkingQueue.clear();
     }
 
+    /**
+     * Places this {@code MobileEntity} on its current {@link Position} again on the next update, without interrupting its
+     * movement.
+     */
+    public final void refreshPlacement() {
+        teleporting = true;
+    }
+
     /**
      * Perform {@code animation} on this cycle.
      *
@@ -2,6 +2,7 @@ package io.luna.game.model.mobile;
 
 import com.google.common.base.MoreObjects;
 import io.luna.LunaContext;
+import io.luna.game.GameFuture;
 import io.luna.game.event.impl.LoginEvent;
 import io.luna.game.event.impl.LogoutEvent;
 import io.luna.game.model.Direction;
@@ -23,6 +24,8 @@ import io.netty.channel.Channel;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -52,6 +55,11 @@ public final class Player extends MobileEntity {
      */
     private final Set<Npc> localNpcs = new LinkedHashSet<>();
 
+    /**
+     * The pending {@link GameFuture}s owned by this {@code Player}, cancelled on logout.
+     */
+    private final Set<GameFuture<?>> futures = new HashSet<>();
+
     /**
      * The {@link PlayerAppearance} container assigned to this player.
      */
@@ -154,6 +162,21 @@ public final class Player extends MobileEntity {
     public void onActive() {
         updateFlags.flag(UpdateFlag.APPEARANCE);
 
+        // Send the initial state of the player, including anything sent by login plugins, in a single write.
+        session.beginBundle();
+        try {
+            sendInitialState();
+        } finally {
+            session.endBundle();
+        }
+
+        LOGGER.info("{} has logged in.", this);
+    }
+
+    /**
+     * Sends the initial state of this {@code Player} to the client and notifies login plugins.
+     */
+    private void sendInitialState() {
         queue(new SendAssignmentMessage(true));
 
         int[] interfaces = { 2423, 3917, 638, 3213, 1644, 5608, 1151, -1, 5065, 5715, 2449, 904, 147, 962 };
@@ -173,13 +196,13 @@ public final class Player extends MobileEntity {
         queue(new SendGameInfoMessage("Welcome to Luna!"));
 
         plugins.post(new LoginEvent(), this);
-
-        LOGGER.info("{} has logged in.", this);
     }
 
     @Override
     public void onInactive() {
+        new ArrayList<>(futures).forEach(GameFuture::cancel);
         plugins.post(new LogoutEvent());
+        session.releaseInbound();
 
         LOGGER.info("{} has logged out.", this);
 
@@ -203,6 +226,18 @@ public final class Player extends MobileEntity {
         }
     }
 
+    /**
+     * Sends the surrounding area again in full on the next update, so it does not rely on update messages that were never
+     * sent. This {@code Player} is placed on its current position and every local {@code Player} and {@code Npc} is
+     * removed, to be added again along with their appearance.
+     */
+    public void resynchronize() {
+        refreshPlacement();
+        updateFlags.flag(UpdateFlag.APPEARANCE);
+        localPlayers.clear();
+        localNpcs.clear();
+    }
+
     /**
      * Send {@code chat} message for this cycle.
      *
@@ -302,6 +337,13 @@ public final class Player extends MobileEntity {
         this.session = session;
     }
 
+    /**
+     * @return The pending {@link GameFuture}s owned by this {@code Player}.
+     */
+    public Set<GameFuture<?>> getFutures() {
+        return futures;
+    }
+
     /**
      * @return The {@link Set} of local {@code Player}s.
      */
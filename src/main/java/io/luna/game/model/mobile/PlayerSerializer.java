@@ -5,7 +5,9 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.moandjiezana.toml.Toml;
 import com.moandjiezana.toml.TomlWriter;
+import io.luna.LunaContext;
 import io.luna.game.GameService;
+import io.luna.game.WorkPriority;
 import io.luna.game.model.Position;
 import io.luna.game.model.mobile.attr.AttributeKey;
 import io.luna.game.model.mobile.attr.AttributeValue;
@@ -37,9 +39,9 @@ public final class PlayerSerializer {
     private static final Logger LOGGER = LogManager.getLogger(PlayerSerializer.class);
 
     /**
-     * The {@link Path} to all of the serialized {@link Player} data.
+     * The {@link Path} to all of the serialized {@link Player} data, unless the {@link LunaContext} uses another.
      */
-    private static final Path FILE_DIR = Paths.get("./data/saved_players");
+    public static final Path FILE_DIR = Paths.get("./data/saved_players");
 
     /**
      * The {@link Player} being serialized or deserialized.
@@ -58,7 +60,7 @@ public final class PlayerSerializer {
      */
     public PlayerSerializer(Player player) {
         this.player = player;
-        path = FILE_DIR.resolve(player.getUsername() + ".toml");
+        path = player.getContext().getSavedPlayers().resolve(player.getUsername() + ".toml");
     }
 
     static {
@@ -75,7 +77,15 @@ public final class PlayerSerializer {
      * Attempts to serialize all persistent data for the {@link Player}.
      */
     public void save() {
-        TomlWriter writer = new TomlWriter();
+        write(toMap());
+    }
+
+    /**
+     * Copies all persistent data for the {@link Player} into a {@link Map}, so that it can be written from another thread.
+     *
+     * @return The persistent data.
+     */
+    private Map<String, Object> toMap() {
         Map<String, Object> data = new LinkedHashMap<>();
 
         data.put("password", player.getPassword());
@@ -98,7 +108,16 @@ public final class PlayerSerializer {
             }
         }
         data.put("attributes", attributes);
+        return data;
+    }
 
+    /**
+     * Writes {@code data} to the character file.
+     *
+     * @param data The persistent data.
+     */
+    private void write(Map<String, Object> data) {
+        TomlWriter writer = new TomlWriter();
         try {
             writer.write(data, path.toFile());
         } catch (IOException e) {
@@ -107,15 +126,17 @@ public final class PlayerSerializer {
     }
 
     /**
-     * Attempts to asynchronously serialize all persistent data for the {@link Player}. Returns a {@link ListenableFuture}
-     * detailing the progress and result of the asynchronous task.
+     * Attempts to asynchronously serialize all persistent data for the {@link Player}. The data is copied on the calling
+     * thread, which should be the game thread, and written on a worker thread. Returns a {@link ListenableFuture} detailing
+     * the progress and result of the asynchronous task.
      *
      * @param service The {@link GameService} to use for asynchronous execution.
      * @return The {@link ListenableFuture} detailing progress and the result.
      */
     public ListenableFuture<Void> asyncSave(GameService service) {
-        return service.submit((Callable<Void>) () -> {
-            save();
+        Map<String, Object> data = toMap();
+        return service.submit(WorkPriority.PERSISTENCE, player, (Callable<Void>) () -> {
+            write(data);
             return null;
         });
     }
@@ -175,6 +196,6 @@ public final class PlayerSerializer {
      * @return The {@link ListenableFuture} detailing progress and the result.
      */
     public ListenableFuture<LoginResponse> asyncLoad(String expectedPassword, GameService service) {
-        return service.submit(() -> load(expectedPassword));
+        return service.submit(WorkPriority.PERSISTENCE, player, () -> load(expectedPassword));
     }
 }
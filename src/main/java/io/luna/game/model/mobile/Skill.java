@@ -211,12 +211,19 @@ public final class Skill {
     private void notifyListeners(double oldExperience, int oldStaticLevel, int oldLevel) {
         MobileEntity mob = skills.getMob();
         PluginManager plugins = mob.getPlugins();
+        if (!plugins.hasListeners(SkillChangeEvent.class)) {
+            return;
+        }
 
-        SkillChangeEvent evt = new SkillChangeEvent(mob, oldExperience, oldStaticLevel, oldLevel, id);
-        if (mob.type() == EntityType.PLAYER) {
-            plugins.post(evt, (Player) mob);
-        } else {
-            plugins.post(evt);
+        SkillChangeEvent evt = SkillChangeEvent.reuse(mob, oldExperience, oldStaticLevel, oldLevel, id);
+        try {
+            if (mob.type() == EntityType.PLAYER) {
+                plugins.post(evt, (Player) mob);
+            } else {
+                plugins.post(evt);
+            }
+        } finally {
+            evt.clear();
         }
     }
 
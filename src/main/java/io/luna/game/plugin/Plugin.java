@@ -0,0 +1,101 @@
+package io.luna.game.plugin;
+
+import io.luna.LunaContext;
+import io.luna.game.event.EventListener;
+import io.luna.game.event.KeyedEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A compiled plugin, found and instantiated by the {@link PluginBootstrap}. Plugins submit their listeners from their
+ * constructor, and every concrete plugin must declare a public constructor that only takes a {@link LunaContext}.
+ * <p>
+ * <p>
+ * Listeners are kept by the plugin that submitted them, and only become active once the plugin is loaded into the {@link
+ * PluginManager}. This allows a plugin to be built off the game thread and swapped in for its previous version at once.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public abstract class Plugin {
+
+    /**
+     * The context this plugin is loaded under.
+     */
+    private final LunaContext context;
+
+    /**
+     * The listeners submitted by this plugin.
+     */
+    private final List<PluginListener> listeners = new ArrayList<>();
+
+    /**
+     * Creates a new {@link Plugin}.
+     *
+     * @param context The context this plugin is loaded under.
+     */
+    protected Plugin(LunaContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Submits a {@link EventListener} that listens for every event of {@code eventClass}.
+     *
+     * @param eventClass The event class type.
+     * @param function The listener.
+     */
+    protected final void submit(Class<?> eventClass, EventListener<?> function) {
+        listeners.add(new PluginListener(eventClass, null, function.withLabel(getSourceLocation())));
+    }
+
+    /**
+     * Submits a {@link EventListener} that only listens for {@link KeyedEvent}s with {@code key}.
+     *
+     * @param eventClass The event class type.
+     * @param key The key of the events to listen for.
+     * @param function The listener.
+     */
+    protected final void submit(Class<?> eventClass, Object key, EventListener<?> function) {
+        checkArgument(key != null, "key == null");
+        listeners.add(new PluginListener(eventClass, key, function.withLabel(getSourceLocation())));
+    }
+
+    /**
+     * Finds the line of this plugin that is submitting a listener, so it can be told apart from the other listeners when
+     * profiled. Only called while the plugin is being loaded.
+     *
+     * @return The source file and line number, or the name of this plugin if it could not be found.
+     */
+    private String getSourceLocation() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (element.getClassName().equals(getName()) && element.getFileName() != null) {
+                return element.getFileName() + ":" + element.getLineNumber();
+            }
+        }
+        return getName();
+    }
+
+    /**
+     * @return The name of this plugin, used to replace it when reloaded.
+     */
+    public final String getName() {
+        return getClass().getName();
+    }
+
+    /**
+     * @return The listeners submitted by this plugin.
+     */
+    final List<PluginListener> getListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+
+    /**
+     * @return The context this plugin is loaded under.
+     */
+    public final LunaContext getContext() {
+        return context;
+    }
+}
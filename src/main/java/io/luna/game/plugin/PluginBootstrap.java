@@ -1,83 +1,50 @@
 package io.luna.game.plugin;
 
-import com.google.common.collect.FluentIterable;
-import com.google.common.io.Files;
-import com.google.gson.JsonObject;
-import com.moandjiezana.toml.Toml;
+import com.google.common.base.Stopwatch;
+import com.google.common.reflect.ClassPath;
+import com.google.common.reflect.ClassPath.ClassInfo;
 import io.luna.LunaContext;
-import io.luna.util.GsonUtils;
+import io.luna.net.LunaNetworkConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import scala.Console;
-import scala.tools.nsc.Settings;
-import scala.tools.nsc.interpreter.IMain;
-import scala.tools.nsc.settings.MutableSettings.BooleanSetting;
-
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
-import java.io.ByteArrayOutputStream;
+
 import java.io.File;
-import java.io.PrintStream;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 /**
- * A bootstrapper that initializes and evaluates all {@code Scala} dependencies and plugins.
+ * A bootstrapper that finds and instantiates every {@link Plugin}. Plugins are written in {@code Scala} and compiled ahead
+ * of time by the {@code plugins} module, so no compiler is needed at runtime. They are loaded from {@code DIR}, and from
+ * the classpath if packaged alongside the server.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class PluginBootstrap implements Runnable {
 
-    /**
-     * A {@link ByteArrayOutputStream} implementation that intercepts output from the {@code Scala} interpreter and forwards
-     * the output to {@code System.err} when there is an evaluation error.
-     */
-    private static final class ScalaConsole extends ByteArrayOutputStream {
-
-        @Override
-        public synchronized void flush() {
-            Pattern pattern = Pattern.compile("<console>:([0-9]+): error:");
-
-            String output = toString();
-            Matcher matcher = pattern.matcher(output);
-
-            reset();
-
-            if (matcher.find()) {
-                LOGGER.error(output);
-            }
-        }
-    }
-
     /**
      * The logger that will print important information.
      */
     private static final Logger LOGGER = LogManager.getLogger(PluginBootstrap.class);
 
     /**
-     * The directory that contains all files related to plugins.
+     * The directory that the {@code plugins} module is compiled to.
      */
-    private static final String DIR = "./plugins/plugin/";
+    static final String DIR = "./plugins/target/classes/";
 
     /**
-     * The {@link LunaContext} that will be used to inject state into plugins.
+     * The package that contains every plugin.
      */
-    private final LunaContext context;
+    static final String PACKAGE = "io.luna.plugin";
 
     /**
-     * The {@link ScriptEngine} that will evaluate the {@code Scala} scripts.
-     */
-    private final ScriptEngine engine;
-
-    /**
-     * A {@link Map} of the file names in {@code DIR} to their contents.
+     * The {@link LunaContext} that will be used to inject state into plugins.
      */
-    private final Map<String, String> files = new HashMap<>();
+    private final LunaContext context;
 
     /**
      * Creates a new {@link PluginBootstrap}.
@@ -86,7 +53,6 @@ public final class PluginBootstrap implements Runnable {
      */
     public PluginBootstrap(LunaContext context) {
         this.context = context;
-        engine = new ScriptEngineManager().getEngineByName("scala");
     }
 
     @Override
@@ -99,74 +65,80 @@ public final class PluginBootstrap implements Runnable {
     }
 
     /**
-     * Initializes this bootstrapper, loading all of the plugins.
+     * Initializes this bootstrapper, loading all of the plugins. If enabled, compiled plugins are then watched for changes.
      */
     public void init() throws Exception {
-        PrintStream oldConsole = Console.out();
-        ScalaConsole newConsole = new ScalaConsole();
+        Stopwatch stopwatch = Stopwatch.createStarted();
 
-        Console.setOut(new PrintStream(newConsole));
-        try {
-            initClasspath();
-            initFiles();
-            initDependencies();
-            initPlugins();
-        } finally {
-            Console.setOut(oldConsole);
+        if (!new File(DIR).isDirectory()) {
+            LOGGER.warn("No compiled plugins in {}, build them with 'mvn -f plugins/pom.xml package'.", DIR);
+        }
+
+        List<Plugin> plugins = loadPlugins(context, findPlugins(newClassLoader()));
+        context.getPlugins().replaceAll(plugins);
+
+        LOGGER.info("Loaded {} plugins in {}.", plugins.size(), stopwatch);
+
+        if (LunaNetworkConstants.HOT_RELOAD_PLUGINS) {
+            new PluginReloader(context).watch();
         }
     }
 
     /**
-     * Configures the {@code Scala} interpreter to use the {@code Java} classpath.
+     * Creates a class loader for {@code DIR}. A new class loader is created for every load, so that reloaded plugins are
+     * defined again rather than returned from the previous loader. Class loaders are left open, plugins load their classes
+     * lazily.
+     *
+     * @return The class loader.
+     * @throws MalformedURLException Never, the directory is always a valid URL.
      */
-    private void initClasspath() throws Exception {
-        IMain interpreter = (IMain) engine;
-        Settings settings = interpreter.settings();
-        BooleanSetting booleanSetting = (BooleanSetting) settings.usejavacp();
-
-        booleanSetting.value_$eq(true);
+    static ClassLoader newClassLoader() throws MalformedURLException {
+        return new URLClassLoader(new URL[] { new File(DIR).toURI().toURL() }, PluginBootstrap.class.getClassLoader());
     }
 
     /**
-     * Parses all of the files in {@code DIR} and caches their contents into {@code files}.
+     * Scans {@code PACKAGE} for every concrete {@link Plugin}, sorted by name so they are always loaded in the same order.
+     *
+     * @param loader The class loader to scan.
+     * @return The plugins.
+     * @throws Exception If the class loader could not be scanned.
      */
-    private void initFiles() throws Exception {
-        FluentIterable<File> dirFiles = Files.fileTreeTraverser().preOrderTraversal(new File(DIR)).filter(File::isFile);
-
-        for (File file : dirFiles) {
-            files.put(file.getName(), Files.toString(file, StandardCharsets.UTF_8));
+    static List<Class<? extends Plugin>> findPlugins(ClassLoader loader) throws Exception {
+        List<Class<? extends Plugin>> plugins = new ArrayList<>();
+        for (ClassInfo info : ClassPath.from(loader).getTopLevelClassesRecursive(PACKAGE)) {
+            Class<?> type = info.load();
+            if (isPlugin(type)) {
+                plugins.add(type.asSubclass(Plugin.class));
+            }
         }
+        plugins.sort(Comparator.comparing(Class::getName));
+        return plugins;
     }
 
     /**
-     * Injects state into the {@code engine} and evaluates dependencies from {@code DIR}.
+     * Determines if {@code type} is a concrete {@link Plugin}.
+     *
+     * @param type The type.
+     * @return {@code true} if {@code type} can be loaded as a plugin.
      */
-    private void initDependencies() throws Exception {
-        engine.put("ctx: io.luna.LunaContext", context);
-        engine.put("logger: org.apache.logging.log4j.Logger", LOGGER);
-
-        Toml toml = new Toml().read(files.remove("dependencies.toml"));
-
-        JsonObject reader = toml.getTable("dependencies").to(JsonObject.class);
-        String parentDependency = reader.get("parent_dependency").getAsString();
-        String[] childDependencies = GsonUtils.getAsType(reader.get("child_dependencies"), String[].class);
-
-        engine.eval(files.remove(parentDependency));
-        for (String dependency : childDependencies) {
-            engine.eval(files.remove(dependency));
-        }
+    static boolean isPlugin(Class<?> type) {
+        return Plugin.class.isAssignableFrom(type) && !Modifier.isAbstract(type.getModifiers());
     }
 
     /**
-     * Evaluates all of the dependant plugins from within {@code DIR}.
+     * Instantiates every plugin in {@code types}.
+     *
+     * @param context The context to load the plugins under.
+     * @param types The plugin types.
+     * @return The instantiated plugins.
+     * @throws ReflectiveOperationException If a plugin could not be instantiated.
      */
-    private void initPlugins() throws Exception {
-        for (Entry<String, String> fileEntry : files.entrySet()) {
-            try {
-                engine.eval(fileEntry.getValue());
-            } catch (ScriptException e) {
-                throw new RuntimeException(e);
-            }
+    static List<Plugin> loadPlugins(LunaContext context, List<Class<? extends Plugin>> types)
+        throws ReflectiveOperationException {
+        List<Plugin> plugins = new ArrayList<>(types.size());
+        for (Class<? extends Plugin> type : types) {
+            plugins.add(type.getConstructor(LunaContext.class).newInstance(context));
         }
+        return plugins;
     }
 }
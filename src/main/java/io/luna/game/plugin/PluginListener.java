@@ -0,0 +1,65 @@
+package io.luna.game.plugin;
+
+import io.luna.game.event.EventListener;
+import io.luna.game.event.KeyedEvent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An {@link EventListener} registered with the {@link PluginManager}, along with the event type and key it listens for.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class PluginListener {
+
+    /**
+     * The event class type.
+     */
+    private final Class<?> eventClass;
+
+    /**
+     * The key of the events to listen for, {@code null} to listen for every event of the type.
+     */
+    private final Object key;
+
+    /**
+     * The listener.
+     */
+    private final EventListener<?> listener;
+
+    /**
+     * Creates a new {@link PluginListener}.
+     *
+     * @param eventClass The event class type.
+     * @param key The key of the events to listen for, {@code null} to listen for every event of the type.
+     * @param listener The listener.
+     */
+    PluginListener(Class<?> eventClass, Object key, EventListener<?> listener) {
+        checkArgument(key == null || KeyedEvent.class.isAssignableFrom(eventClass), "eventClass must be a KeyedEvent");
+
+        this.eventClass = eventClass;
+        this.key = key;
+        this.listener = listener;
+    }
+
+    /**
+     * @return The event class type.
+     */
+    Class<?> getEventClass() {
+        return eventClass;
+    }
+
+    /**
+     * @return The key of the events to listen for, {@code null} to listen for every event of the type.
+     */
+    Object getKey() {
+        return key;
+    }
+
+    /**
+     * @return The listener.
+     */
+    EventListener<?> getListener() {
+        return listener;
+    }
+}
@@ -1,26 +1,103 @@
 package io.luna.game.plugin;
 
+import com.google.common.collect.ImmutableSet;
 import io.luna.LunaContext;
 import io.luna.game.event.Event;
 import io.luna.game.event.EventListener;
 import io.luna.game.event.EventListenerPipeline;
+import io.luna.game.event.KeyedEvent;
+import io.luna.game.event.ListenerProfiler;
 import io.luna.game.model.mobile.Player;
+import io.luna.net.LunaNetworkConstants;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * A manager for Scala plugins. It uses {@link EventListener}s and {@link EventListenerPipeline}s to act as a bridge between
- * interpreted Scala code and compiled Java code.
+ * interpreted Scala code and compiled Java code. Listeners can be submitted and events posted from any thread, as long as
+ * the listeners themselves are safe to run on the posting thread.
+ * <p>
+ * <p>
+ * Events are posted through an immutable snapshot of every pipeline. Whenever listeners are submitted or {@link Plugin}s
+ * are loaded, a new snapshot is built and swapped in at once, so an event never sees a plugin partially reloaded.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class PluginManager {
 
     /**
-     * A {@link Map} containing the event types and designated pipelines.
+     * An immutable snapshot of every pipeline.
+     */
+    private static final class Pipelines {
+
+        /**
+         * The profiler that traversals are recorded to.
+         */
+        private final ListenerProfiler profiler;
+
+        /**
+         * A {@link Map} containing the event types and designated pipelines.
+         */
+        private final Map<Class<?>, EventListenerPipeline<?>> pipelines = new HashMap<>();
+
+        /**
+         * A {@link Map} containing the event types and the designated pipelines for each of their keys.
+         */
+        private final Map<Class<?>, Map<Object, EventListenerPipeline<?>>> keyedPipelines = new HashMap<>();
+
+        /**
+         * Creates a new, empty {@link Pipelines}.
+         *
+         * @param profiler The profiler that traversals are recorded to.
+         */
+        private Pipelines(ListenerProfiler profiler) {
+            this.profiler = profiler;
+        }
+
+        /**
+         * Adds {@code listener} to its designated pipeline, only called while this snapshot is being built.
+         *
+         * @param listener The listener to add.
+         */
+        private void add(PluginListener listener) {
+            Class<?> eventClass = listener.getEventClass();
+            Object key = listener.getKey();
+
+            EventListenerPipeline<?> pipeline = key == null ?
+                pipelines.computeIfAbsent(eventClass, it -> new EventListenerPipeline<>(profiler)) :
+                keyedPipelines.computeIfAbsent(eventClass, it -> new HashMap<>()).
+                    computeIfAbsent(key, it -> new EventListenerPipeline<>(profiler));
+            pipeline.add(listener.getListener());
+        }
+    }
+
+    /**
+     * The listeners submitted directly to this manager rather than by a {@link Plugin}.
+     */
+    private final List<PluginListener> listeners = new ArrayList<>();
+
+    /**
+     * The loaded plugins, by name. Sorted so that listeners are always traversed in the same order.
      */
-    private final Map<Class<?>, EventListenerPipeline<?>> pipelines = new HashMap<>();
+    private final Map<String, Plugin> plugins = new TreeMap<>();
+
+    /**
+     * The profiler that every pipeline records its traversals to.
+     */
+    private final ListenerProfiler profiler = new ListenerProfiler(LunaNetworkConstants.PROFILE_PLUGINS);
+
+    /**
+     * The snapshot that events are currently posted through.
+     */
+    private volatile Pipelines snapshot = new Pipelines(profiler);
 
     /**
      * An instance of the {@link LunaContext}.
@@ -42,12 +119,61 @@ public final class PluginManager {
      * @param eventClass The event class type.
      * @param function The {@code EventFunction} to add to the {@link EventListenerPipeline}.
      */
-    public void submit(Class<?> eventClass, EventListener<?> function) {
-        pipelines.computeIfAbsent(eventClass, it -> new EventListenerPipeline<>()).add(function);
+    public synchronized void submit(Class<?> eventClass, EventListener<?> function) {
+        listeners.add(new PluginListener(eventClass, null, function));
+        rebuild();
     }
 
     /**
-     * Attempts to traverse {@code evt} across its designated {@link EventListenerPipeline}.
+     * Submits a {@link EventListener} to this manager that only listens for {@link KeyedEvent}s with {@code key}.
+     *
+     * @param eventClass The event class type.
+     * @param key The key of the events to listen for.
+     * @param function The {@code EventFunction} to add to the {@link EventListenerPipeline}.
+     */
+    public synchronized void submit(Class<?> eventClass, Object key, EventListener<?> function) {
+        checkArgument(key != null, "key == null");
+
+        listeners.add(new PluginListener(eventClass, key, function));
+        rebuild();
+    }
+
+    /**
+     * Replaces every loaded {@link Plugin} with {@code loaded}.
+     *
+     * @param loaded The plugins to load.
+     */
+    public synchronized void replaceAll(Collection<? extends Plugin> loaded) {
+        plugins.clear();
+        reload(ImmutableSet.of(), loaded);
+    }
+
+    /**
+     * Unloads the {@link Plugin}s named {@code unloaded}, then loads {@code loaded} in place of any plugins with the same
+     * names. The listeners of every plugin are swapped in at once.
+     *
+     * @param unloaded The names of the plugins to unload.
+     * @param loaded The plugins to load.
+     */
+    public synchronized void reload(Collection<String> unloaded, Collection<? extends Plugin> loaded) {
+        unloaded.forEach(plugins::remove);
+        loaded.forEach(it -> plugins.put(it.getName(), it));
+        rebuild();
+    }
+
+    /**
+     * Builds a new snapshot from every listener, and swaps it in.
+     */
+    private void rebuild() {
+        Pipelines next = new Pipelines(profiler);
+        listeners.forEach(next::add);
+        plugins.values().forEach(it -> it.getListeners().forEach(next::add));
+        snapshot = next;
+    }
+
+    /**
+     * Attempts to traverse {@code evt} across its designated {@link EventListenerPipeline}s. The pipeline for the key of a
+     * {@link KeyedEvent} is traversed first, followed by the pipeline for every key unless the event was terminated.
      *
      * @param evt The event to post.
      * @param player The {@link Player} to post this event for, if intended to be {@code null} use {@code post(Event)}
@@ -55,7 +181,19 @@ public final class PluginManager {
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public void post(Event evt, Player player) {
-        EventListenerPipeline pipeline = pipelines.get(evt.getClass());
+        Pipelines current = snapshot;
+
+        if (evt instanceof KeyedEvent) {
+            Map<Object, EventListenerPipeline<?>> keyed = current.keyedPipelines.get(evt.getClass());
+            if (keyed != null) {
+                EventListenerPipeline pipeline = keyed.get(((KeyedEvent) evt).getKey());
+                if (pipeline != null && pipeline.traverse(evt, player)) {
+                    return;
+                }
+            }
+        }
+
+        EventListenerPipeline pipeline = current.pipelines.get(evt.getClass());
 
         if (pipeline == null) {
             return;
@@ -64,10 +202,24 @@ public final class PluginManager {
     }
 
     /**
-     * Clears the backing cache of {@link EventListenerPipeline}s.
+     * Determines if any {@link EventListener}s are listening for {@code eventClass}, keyed or not. This is cheap enough to
+     * be checked before constructing events on hot paths, so that nothing is allocated when nothing is listening.
+     *
+     * @param eventClass The event class type.
+     * @return {@code true} if {@code eventClass} has listeners, {@code false} otherwise.
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        Pipelines current = snapshot;
+        return current.pipelines.containsKey(eventClass) || current.keyedPipelines.containsKey(eventClass);
+    }
+
+    /**
+     * Clears every listener and {@link Plugin}.
      */
-    public void clear() {
-        pipelines.clear();
+    public synchronized void clear() {
+        listeners.clear();
+        plugins.clear();
+        rebuild();
     }
 
     /**
@@ -79,6 +231,20 @@ public final class PluginManager {
         post(evt, null);
     }
 
+    /**
+     * @return The names of every loaded {@link Plugin}.
+     */
+    public synchronized Set<String> getPluginNames() {
+        return ImmutableSet.copyOf(plugins.keySet());
+    }
+
+    /**
+     * @return The profiler that every pipeline records its traversals to.
+     */
+    public ListenerProfiler getProfiler() {
+        return profiler;
+    }
+
     /**
      * @return An instance of the {@link LunaContext}.
      */
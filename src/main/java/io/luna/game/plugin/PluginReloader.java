@@ -0,0 +1,229 @@
+package io.luna.game.plugin;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.LunaContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Reloads {@link Plugin}s while the server is running. When watching, every class file compiled into the plugins directory
+ * is tracked, and once the compiler has been quiet for a moment only the plugins whose classes changed are loaded again.
+ * If a class that is not a plugin changed, such as the {@code ScalaPlugin} that every plugin extends, all plugins are
+ * reloaded instead.
+ * <p>
+ * <p>
+ * Plugins are instantiated off the game thread, and their listeners are swapped in on the game thread in between cycles.
+ * Changes are picked up from incremental builds, such as {@code mvn -f plugins/pom.xml scala:cc}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class PluginReloader {
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(PluginReloader.class);
+
+    /**
+     * The amount of {@code MILLISECONDS} without any changes before plugins are reloaded.
+     */
+    private static final long QUIET_MILLIS = 500;
+
+    /**
+     * The directory that the {@code plugins} module is compiled to.
+     */
+    private final Path dir = Paths.get(PluginBootstrap.DIR).toAbsolutePath().normalize();
+
+    /**
+     * The underlying context to be managed under.
+     */
+    private final LunaContext context;
+
+    /**
+     * Creates a new {@link PluginReloader}.
+     *
+     * @param context The underlying context to be managed under.
+     */
+    public PluginReloader(LunaContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts watching the plugins directory on a background thread.
+     *
+     * @throws IOException If the directory could not be watched.
+     */
+    public void watch() throws IOException {
+        Files.createDirectories(dir);
+
+        WatchService watcher = dir.getFileSystem().newWatchService();
+        register(watcher, dir);
+
+        new ThreadFactoryBuilder().setNameFormat("LunaPluginReloadThread").setDaemon(true).build().
+            newThread(() -> run(watcher)).start();
+
+        LOGGER.info("Watching {} for recompiled plugins.", dir);
+    }
+
+    /**
+     * Reloads every plugin. Can be called from any thread.
+     */
+    public void reloadAll() {
+        try {
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            List<Plugin> plugins = PluginBootstrap.loadPlugins(context,
+                PluginBootstrap.findPlugins(PluginBootstrap.newClassLoader()));
+
+            context.getService().syncDeferrable(() -> context.getPlugins().replaceAll(plugins));
+            LOGGER.info("Reloaded all {} plugins in {}.", plugins.size(), stopwatch);
+        } catch (Exception e) {
+            LOGGER.catching(e);
+        }
+    }
+
+    /**
+     * Reloads the plugins named {@code changed}. Plugins whose classes no longer exist are unloaded.
+     *
+     * @param changed The names of the top-level classes that changed.
+     * @throws Exception If the plugins could not be loaded.
+     */
+    private void reload(Set<String> changed) throws Exception {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        ClassLoader loader = PluginBootstrap.newClassLoader();
+
+        List<String> unloaded = new ArrayList<>();
+        List<Class<? extends Plugin>> types = new ArrayList<>();
+        for (String name : changed) {
+            Class<?> type;
+            try {
+                type = Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                unloaded.add(name);
+                continue;
+            }
+
+            if (!PluginBootstrap.isPlugin(type)) {
+                // Other plugins may depend on this class, load them all again.
+                reloadAll();
+                return;
+            }
+            types.add(type.asSubclass(Plugin.class));
+        }
+        types.sort(Comparator.comparing(Class::getName));
+
+        List<Plugin> plugins = PluginBootstrap.loadPlugins(context, types);
+        context.getService().syncDeferrable(() -> context.getPlugins().reload(unloaded, plugins));
+        LOGGER.info("Reloaded {} plugins and unloaded {} in {}.", plugins.size(), unloaded.size(), stopwatch);
+    }
+
+    /**
+     * Waits for changes to compiled classes, and reloads their plugins once no more changes have been made for {@code
+     * QUIET_MILLIS}.
+     *
+     * @param watcher The watch service.
+     */
+    private void run(WatchService watcher) {
+        Set<String> changed = new HashSet<>();
+        boolean overflow = false;
+        for (; ; ) {
+            try {
+                WatchKey key = changed.isEmpty() && !overflow ? watcher.take() :
+                               watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    if (overflow) {
+                        reloadAll();
+                    } else {
+                        reload(changed);
+                    }
+                    changed.clear();
+                    overflow = false;
+                    continue;
+                }
+
+                Path parent = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        overflow = true;
+                        continue;
+                    }
+
+                    Path path = parent.resolve((Path) event.context());
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                        register(watcher, path);
+                        try (Stream<Path> files = Files.walk(path)) {
+                            files.forEach(it -> addClassName(changed, it));
+                        }
+                    } else {
+                        addClassName(changed, path);
+                    }
+                }
+                key.reset();
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                LOGGER.catching(e);
+                changed.clear();
+            }
+        }
+    }
+
+    /**
+     * Registers {@code root} and every directory within it with {@code watcher}.
+     *
+     * @param watcher The watch service.
+     * @param root The directory to register.
+     * @throws IOException If the directories could not be registered.
+     */
+    private void register(WatchService watcher, Path root) throws IOException {
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (Path it : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                it.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+        }
+    }
+
+    /**
+     * Adds the name of the top-level class that {@code path} was compiled from to {@code names}, if it is a class file
+     * within {@code PluginBootstrap.PACKAGE}.
+     *
+     * @param names The names to add to.
+     * @param path The path of the changed file.
+     */
+    private void addClassName(Set<String> names, Path path) {
+        String file = dir.relativize(path).toString();
+        if (!file.endsWith(".class")) {
+            return;
+        }
+
+        String name = file.substring(0, file.length() - ".class".length()).replace(File.separatorChar, '.');
+        int nested = name.indexOf('$');
+        if (nested != -1) {
+            name = name.substring(0, nested);
+        }
+        if (name.startsWith(PluginBootstrap.PACKAGE + ".")) {
+            names.add(name);
+        }
+    }
+}
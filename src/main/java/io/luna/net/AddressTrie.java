@@ -0,0 +1,116 @@
+package io.luna.net;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A binary trie of IPv4 and IPv6 address ranges in CIDR notation. Looking up an address walks at most one node per bit of
+ * the address, regardless of how many ranges are in the trie.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class AddressTrie {
+
+    /**
+     * A single node within the trie.
+     */
+    private static final class Node {
+
+        /**
+         * The child nodes, indexed by the value of the next bit.
+         */
+        private final Node[] children = new Node[2];
+
+        /**
+         * If a range ends at this node.
+         */
+        private boolean terminal;
+    }
+
+    /**
+     * The root node for IPv4 addresses.
+     */
+    private final Node ipv4 = new Node();
+
+    /**
+     * The root node for IPv6 addresses.
+     */
+    private final Node ipv6 = new Node();
+
+    /**
+     * The amount of ranges in this trie.
+     */
+    private int size;
+
+    /**
+     * Adds the range of addresses starting with the first {@code prefixLength} bits of {@code address}.
+     *
+     * @param address The raw address, either 4 or 16 bytes long.
+     * @param prefixLength The amount of bits in the routing prefix.
+     */
+    void add(byte[] address, int prefixLength) {
+        checkArgument(prefixLength >= 0 && prefixLength <= address.length * 8, "invalid prefix length");
+
+        Node node = root(address);
+        for (int bit = 0; bit < prefixLength && !node.terminal; bit++) {
+            int value = bitAt(address, bit);
+            if (node.children[value] == null) {
+                node.children[value] = new Node();
+            }
+            node = node.children[value];
+        }
+        node.terminal = true;
+        size++;
+    }
+
+    /**
+     * Determines if {@code address} is within any range in this trie.
+     *
+     * @param address The raw address, either 4 or 16 bytes long.
+     * @return {@code true} if the address is within a range, {@code false} otherwise.
+     */
+    boolean contains(byte[] address) {
+        Node node = root(address);
+        int bits = address.length * 8;
+        for (int bit = 0; ; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (bit == bits) {
+                return false;
+            }
+            node = node.children[bitAt(address, bit)];
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return The amount of ranges in this trie.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the root node for addresses of the same family as {@code address}.
+     *
+     * @param address The raw address.
+     * @return The root node.
+     */
+    private Node root(byte[] address) {
+        checkArgument(address.length == 4 || address.length == 16, "invalid address length");
+        return address.length == 4 ? ipv4 : ipv6;
+    }
+
+    /**
+     * Returns the value of a single bit in {@code address}, the most significant bit first.
+     *
+     * @param address The raw address.
+     * @param bit The index of the bit.
+     * @return The value of the bit.
+     */
+    private static int bitAt(byte[] address, int bit) {
+        return (address[bit >> 3] >> (7 - (bit & 7))) & 1;
+    }
+}
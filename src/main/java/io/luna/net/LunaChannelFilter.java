@@ -2,7 +2,8 @@ package io.luna.net;
 
 import com.google.common.collect.ConcurrentHashMultiset;
 import com.google.common.collect.Multiset;
-import com.google.common.collect.Sets;
+import com.google.common.net.InetAddresses;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.luna.net.codec.login.LoginResponse;
 import io.luna.net.codec.login.LoginResponseMessage;
 import io.luna.util.parser.NewLineParser;
@@ -12,14 +13,34 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
-
+import io.netty.util.AttributeKey;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A {@link ChannelInboundHandlerAdapter} implementation that filters {@link Channel}s by the amount of active connections
- * they already have. A threshold is put on the amount of successful connections allowed to be made in order to provide
- * security from socket flooder attacks.
+ * they already have, how often they have connected recently, and whether or not they're banned. A threshold is put on the
+ * amount of successful connections allowed to be made in order to provide security from socket flooder attacks.
+ * <p>
+ * <p>
+ * Hosts are identified by a {@code long} derived from their raw address bytes: the whole address for IPv4, and the
+ * {@code /64} routing prefix for IPv6, since a single IPv6 host usually controls an entire {@code /64}. Banned ranges are
+ * kept in an {@link AddressTrie} that is rebuilt whenever the ban file changes. The ban file is checked, and rate limiters
+ * for hosts that have not connected recently are discarded, by a task on a {@link HashedWheelTimer} so that nothing
+ * blocks the threads accepting connections.
  * <p>
  * <p>
  * <strong>One {@code LunaChannelFilter} instance must be shared across all pipelines in order to ensure that every channel
@@ -27,85 +48,177 @@ import java.util.Set;
  *
  * @author lare96 <http://github.org/lare96>
  */
-@Sharable public final class LunaChannelFilter extends ChannelInboundHandlerAdapter {
+@Sharable public final class LunaChannelFilter extends ChannelInboundHandlerAdapter implements TimerTask {
 
     /**
-     * A {@link NewLineParser} implementation that reads banned addresses.
+     * A {@link NewLineParser} implementation that reads banned addresses and ranges in CIDR notation into a new {@link
+     * AddressTrie}, which replaces the current one once parsing is complete.
      *
      * @author lare96 <http://github.org/lare96>
      */
     private final class IpBanParser extends NewLineParser {
 
+        /**
+         * The trie being built.
+         */
+        private final AddressTrie trie = new AddressTrie();
+
         /**
          * Creates a new {@link IpBanParser}.
          */
         public IpBanParser() {
-            super("./data/players/ip_banned.txt");
+            super(BAN_FILE);
         }
 
         @Override
         public void readNextLine(String nextLine) throws Exception {
-            bannedAddresses.add(nextLine);
+            String line = nextLine.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                return;
+            }
+
+            try {
+                int index = line.indexOf('/');
+                byte[] address = InetAddresses.forString(index == -1 ? line : line.substring(0, index)).getAddress();
+                int prefixLength = index == -1 ? address.length * 8 : Integer.parseInt(line.substring(index + 1));
+                trie.add(address, prefixLength);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Invalid banned address: {}", line);
+            }
+        }
+
+        @Override
+        public void onReadComplete(List<String> readObjects) throws Exception {
+            super.onReadComplete(readObjects);
+            bannedAddresses = trie;
+            LOGGER.debug("Loaded {} banned address range(s).", trie.size());
         }
     }
 
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LunaChannelFilter.class);
+
+    /**
+     * The path to the file containing banned addresses.
+     */
+    private static final String BAN_FILE = "./data/players/ip_banned.txt";
+
+    /**
+     * The amount of {@code SECONDS} in between checks for changes to the ban file.
+     */
+    private static final long BAN_CHECK_INTERVAL = 5;
+
+    /**
+     * An {@link AttributeKey} holding the host key a channel was counted under, if it was counted.
+     */
+    private static final AttributeKey<Long> HOST_KEY = AttributeKey.valueOf("channel-filter.HOST_KEY");
+
+    /**
+     * The timer that runs ban file checks.
+     */
+    private final Timer timer = new HashedWheelTimer(
+        new ThreadFactoryBuilder().setNameFormat("LunaChannelFilterThread").setDaemon(true).build());
+
     /**
      * A concurrent {@link Multiset} that holds the amount of connections made by all active hosts.
      */
-    private final Multiset<String> connections = ConcurrentHashMultiset.create();
+    private final Multiset<Long> connections = ConcurrentHashMultiset.create();
 
     /**
-     * A concurrent {@link Set} that holds the banned addresses.
+     * A concurrent {@link Map} that holds the connection rate limiter for every host that has connected recently.
      */
-    private final Set<String> bannedAddresses = Sets.newConcurrentHashSet();
+    private final ConcurrentMap<Long, TokenBucket> connectionRates = new ConcurrentHashMap<>();
+
+    /**
+     * The ranges of banned addresses. The trie is never modified once assigned, reloads replace it entirely.
+     */
+    private volatile AddressTrie bannedAddresses = new AddressTrie();
+
+    /**
+     * The last modified time of the ban file when it was last loaded, only accessed by the timer thread once constructed.
+     */
+    private long banFileModified = -1;
 
     /**
      * The maximum amount of connections that can be made by a single host.
      */
     private final int connectionLimit;
 
-    // Parse all of the banned addresses when this class is constructed. This class should only be constructed once, so
-    // the parser should only run once.
-    {
-        NewLineParser parser = new IpBanParser();
-        parser.run();
-    }
-
     /**
      * Creates a new {@link LunaChannelFilter} with a connection limit of {@code CONNECTION_LIMIT}.
      */
     public LunaChannelFilter() {
         connectionLimit = LunaNetworkConstants.CONNECTION_LIMIT;
+        checkBans();
+        timer.newTimeout(this, BAN_CHECK_INTERVAL, TimeUnit.SECONDS);
     }
 
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
-        String hostAddress = getAddress(ctx);
-        if (hostAddress.equals("127.0.0.1")) {
+        InetAddress address = ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress();
+        if (address.isLoopbackAddress()) {
+            ctx.fireChannelRegistered();
+            return;
+        }
+
+        long now = System.nanoTime();
+        byte[] rawAddress = address.getAddress();
+        long key = hostKey(rawAddress);
+        TokenBucket bucket = connectionRates.computeIfAbsent(key, it -> new TokenBucket(
+            LunaNetworkConstants.CONNECTION_RATE, LunaNetworkConstants.CONNECTION_BURST, now));
+        if (!bucket.tryAcquire(now)) {
+            // Connection floods are closed right away, without spending anything on a response.
+            ctx.channel().close();
             return;
         }
-        if (connections.count(hostAddress) >= connectionLimit) {
+        if (connections.count(key) >= connectionLimit) {
             disconnect(ctx, LoginResponse.LOGIN_LIMIT_EXCEEDED);
             return;
         }
-        if (bannedAddresses.contains(hostAddress)) {
+        if (bannedAddresses.contains(rawAddress)) {
             disconnect(ctx, LoginResponse.ACCOUNT_BANNED);
             return;
         }
-        connections.add(hostAddress);
+        connections.add(key);
+        ctx.channel().attr(HOST_KEY).set(key);
         ctx.fireChannelRegistered();
     }
 
     @Override
     public void channelUnregistered(ChannelHandlerContext ctx) throws Exception {
-        String hostAddress = getAddress(ctx);
-        if (hostAddress.equals("127.0.0.1")) {
-            return;
+        Long key = ctx.channel().attr(HOST_KEY).getAndSet(null);
+        if (key != null) {
+            connections.remove(key);
         }
-        connections.remove(hostAddress);
         ctx.fireChannelUnregistered();
     }
 
+    @Override
+    public void run(Timeout timeout) throws Exception {
+        try {
+            checkBans();
+        } catch (Exception e) {
+            LOGGER.catching(e);
+        } finally {
+            timer.newTimeout(this, BAN_CHECK_INTERVAL, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Reloads the ban file if it has changed, and discards rate limiters for hosts that have not connected recently.
+     */
+    private void checkBans() {
+        long now = System.nanoTime();
+        long modified = new File(BAN_FILE).lastModified();
+        if (modified != banFileModified) {
+            banFileModified = modified;
+            new IpBanParser().run();
+        }
+        connectionRates.values().removeIf(it -> it.isFull(now));
+    }
+
     /**
      * Disconnects {@code ctx} with {@code response} as the response code.
      *
@@ -121,12 +234,18 @@ import java.util.Set;
     }
 
     /**
-     * Converts {@code ctx} to a {@code String} representation of the host address.
+     * Converts a raw address into the key its host is identified by. IPv4 keys never have any of their upper {@code 32}
+     * bits set, which only happens for IPv6 prefixes within the reserved {@code ::/32} range.
      *
-     * @param ctx The channel handler context.
-     * @return The {@code String} address representation.
+     * @param address The raw address, either 4 or 16 bytes long.
+     * @return The host key.
      */
-    private String getAddress(ChannelHandlerContext ctx) {
-        return ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress().getHostAddress();
+    private static long hostKey(byte[] address) {
+        long key = 0;
+        int length = address.length == 4 ? 4 : 8;
+        for (int i = 0; i < length; i++) {
+            key = (key << 8) | (address[i] & 0xFF);
+        }
+        return key;
     }
 }
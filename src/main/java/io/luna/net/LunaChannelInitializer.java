@@ -1,6 +1,7 @@
 package io.luna.net;
 
 import io.luna.LunaContext;
+import io.luna.cache.Cache;
 import io.luna.net.codec.login.LoginDecoder;
 import io.luna.net.codec.login.LoginEncoder;
 import io.luna.net.msg.MessageRepository;
@@ -9,7 +10,8 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.handler.timeout.ReadTimeoutHandler;
+
+import java.util.Optional;
 
 /**
  * The {@link ChannelInitializer} implementation that will initialize {@link SocketChannel}s before they are registered.
@@ -33,6 +35,11 @@ import io.netty.handler.timeout.ReadTimeoutHandler;
      */
     public final ChannelHandler channelFilter = new LunaChannelFilter();
 
+    /**
+     * Closes channels that have not read any data for too long.
+     */
+    private final ChannelHandler idleMonitor = new LunaIdleMonitor();
+
     /**
      * The underlying context to be managed under.
      */
@@ -43,24 +50,31 @@ import io.netty.handler.timeout.ReadTimeoutHandler;
      */
     private final MessageRepository messageRepository;
 
+    /**
+     * The cache served through the on-demand protocol, if one is available.
+     */
+    private final Optional<Cache> cache;
+
     /**
      * Creates a new {@link LunaChannelInitializer}.
      *
      * @param context The underlying context to be managed under.
      * @param messageRepository The repository containing data for incoming messages.
+     * @param cache The cache served through the on-demand protocol, if one is available.
      */
-    public LunaChannelInitializer(LunaContext context, MessageRepository messageRepository) {
+    public LunaChannelInitializer(LunaContext context, MessageRepository messageRepository, Optional<Cache> cache) {
         this.context = context;
         this.messageRepository = messageRepository;
+        this.cache = cache;
     }
 
     @Override
     protected void initChannel(SocketChannel ch) throws Exception {
         ch.attr(LunaNetworkConstants.SESSION_KEY).setIfAbsent(new Session(ch));
 
-        ch.pipeline().addLast("read-timeout", new ReadTimeoutHandler(LunaNetworkConstants.READ_IDLE_SECONDS));
+        ch.pipeline().addLast("idle-monitor", idleMonitor);
         ch.pipeline().addLast("channel-filter", channelFilter);
-        ch.pipeline().addLast("login-decoder", new LoginDecoder(context, messageRepository));
+        ch.pipeline().addLast("login-decoder", new LoginDecoder(context, messageRepository, cache));
         ch.pipeline().addLast("login-encoder", loginEncoder);
         ch.pipeline().addLast("upstream-handler", upstreamHandler);
     }
@@ -0,0 +1,104 @@
+package io.luna.net;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.net.session.Session;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ChannelInboundHandlerAdapter} implementation shared by every channel that records when each {@link Session} last
+ * read data. A single task on a {@link HashedWheelTimer} periodically sweeps all channels and closes the ones that have been
+ * idle for too long, rather than every channel scheduling and cancelling its own timeout on every read.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@Sharable public final class LunaIdleMonitor extends ChannelInboundHandlerAdapter implements TimerTask {
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LunaIdleMonitor.class);
+
+    /**
+     * The amount of {@code MILLISECONDS} in between sweeps.
+     */
+    private static final long SWEEP_INTERVAL = 1000;
+
+    /**
+     * The amount of {@code NANOSECONDS} a channel can go without reading before being closed.
+     */
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(LunaNetworkConstants.READ_IDLE_SECONDS);
+
+    /**
+     * The timer that runs sweeps.
+     */
+    private final Timer timer = new HashedWheelTimer(
+        new ThreadFactoryBuilder().setNameFormat("LunaIdleMonitorThread").setDaemon(true).build());
+
+    /**
+     * The channels that are currently active.
+     */
+    private final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A default access level constructor to discourage external instantiation outside of the {@code io.luna.net} package.
+     */
+    LunaIdleMonitor() {
+        timer.newTimeout(this, SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        channels.add(ctx.channel());
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        channels.remove(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        Session session = ctx.channel().attr(LunaNetworkConstants.SESSION_KEY).get();
+        if (session != null) {
+            session.markRead();
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void run(Timeout timeout) throws Exception {
+        try {
+            long now = System.nanoTime();
+            int closed = 0;
+            for (Channel channel : channels) {
+                Session session = channel.attr(LunaNetworkConstants.SESSION_KEY).get();
+                if (session != null && now - session.getLastRead() >= IDLE_NANOS) {
+                    channel.close();
+                    closed++;
+                }
+            }
+            if (closed > 0) {
+                LOGGER.debug("Closed {} idle channel(s).", closed);
+            }
+        } catch (Exception e) {
+            LOGGER.catching(e);
+        } finally {
+            timer.newTimeout(this, SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.gson.JsonObject;
 import com.moandjiezana.toml.Toml;
 import io.luna.net.session.Session;
+import io.luna.net.session.SlowClientPolicy;
 import io.netty.channel.Channel;
 import io.netty.util.AttributeKey;
 import io.netty.util.ResourceLeakDetector.Level;
@@ -28,6 +29,19 @@ public final class LunaNetworkConstants {
             RSA_EXPONENT = new BigInteger(reader.get("rsa_exponent").getAsString());
             RESOURCE_LEAK_DETECTION = Level.valueOf(reader.get("resource_leak_detection_level").getAsString());
             CONNECTION_LIMIT = reader.get("connection_threshold").getAsInt();
+            CONNECTION_RATE = reader.get("connection_rate").getAsDouble();
+            CONNECTION_BURST = reader.get("connection_burst").getAsInt();
+            DECODE_ON_IO_THREAD = reader.get("decode_on_io_thread").getAsBoolean();
+            WRITE_BUFFER_LOW_WATER_MARK = reader.get("write_buffer_low_water_mark").getAsInt();
+            WRITE_BUFFER_HIGH_WATER_MARK = reader.get("write_buffer_high_water_mark").getAsInt();
+            SLOW_CLIENT_POLICY = SlowClientPolicy.valueOf(reader.get("slow_client_policy").getAsString());
+            SLOW_CLIENT_CYCLE_LIMIT = reader.get("slow_client_cycle_limit").getAsInt();
+            CACHE_DIRECTORY = reader.get("cache_directory").getAsString();
+            CAPTURE_TRAFFIC = reader.get("capture_traffic").getAsBoolean();
+            DEFER_THRESHOLD_MILLIS = reader.get("defer_threshold_millis").getAsLong();
+            HOT_RELOAD_PLUGINS = reader.get("hot_reload_plugins").getAsBoolean();
+            PROFILE_PLUGINS = reader.get("profile_plugins").getAsBoolean();
+            SLOW_TICK_MILLIS = reader.get("slow_tick_millis").getAsLong();
         } catch (Exception e) {
             throw new ExceptionInInitializerError(e);
         }
@@ -60,7 +74,87 @@ public final class LunaNetworkConstants {
     public static final int CONNECTION_LIMIT;
 
     /**
-     * The amount of {@code SECONDS} that must elapse for a channel to be disconnected after no read operations.
+     * The amount of new connections a single host is allowed to make per second, on average.
+     */
+    public static final double CONNECTION_RATE;
+
+    /**
+     * The amount of new connections a single host is allowed to make in quick succession.
+     */
+    public static final int CONNECTION_BURST;
+
+    /**
+     * If incoming messages that support it should be decoded on the networking thread as they arrive, rather than on the
+     * game thread.
+     */
+    public static final boolean DECODE_ON_IO_THREAD;
+
+    /**
+     * The amount of bytes pending in an outbound buffer for an unwritable channel to become writable again.
+     */
+    public static final int WRITE_BUFFER_LOW_WATER_MARK;
+
+    /**
+     * The amount of bytes pending in an outbound buffer for a channel to become unwritable.
+     */
+    public static final int WRITE_BUFFER_HIGH_WATER_MARK;
+
+    /**
+     * The policy applied to game sessions whose channels are unwritable.
+     */
+    public static final SlowClientPolicy SLOW_CLIENT_POLICY;
+
+    /**
+     * The amount of consecutive cycles a channel can be unwritable for before being disconnected, if the {@code
+     * DISCONNECT} policy is used.
+     */
+    public static final int SLOW_CLIENT_CYCLE_LIMIT;
+
+    /**
+     * The directory containing the cache served to clients through the on-demand protocol. On-demand requests are refused
+     * if it does not contain a cache.
+     */
+    public static final String CACHE_DIRECTORY;
+
+    /**
+     * If inbound traffic should be recorded to {@code CAPTURE_DIRECTORY}, so that it can be replayed later.
+     */
+    public static final boolean CAPTURE_TRAFFIC;
+
+    /**
+     * The amount of {@code MILLISECONDS} into a cycle after which {@code DEFERRABLE} messages are deferred to the next
+     * cycle, and deferrable game thread work stops running.
+     */
+    public static final long DEFER_THRESHOLD_MILLIS;
+
+    /**
+     * The largest amount of messages that can be deferred for a single session, any more are written right away.
+     */
+    public static final int DEFERRED_MESSAGE_LIMIT = 256;
+
+    /**
+     * If compiled plugins should be watched and reloaded when they change, without restarting the server.
+     */
+    public static final boolean HOT_RELOAD_PLUGINS;
+
+    /**
+     * If plugin listeners should be profiled from startup. Profiling can also be toggled while the server is running.
+     */
+    public static final boolean PROFILE_PLUGINS;
+
+    /**
+     * The amount of {@code MILLISECONDS} a cycle can take before a breakdown of its phases is logged.
+     */
+    public static final long SLOW_TICK_MILLIS;
+
+    /**
+     * The directory that inbound traffic is recorded to.
+     */
+    public static final String CAPTURE_DIRECTORY = "./data/captures/";
+
+    /**
+     * The amount of {@code SECONDS} that must elapse for a channel to be disconnected after no read operations, checked
+     * roughly once every second.
      */
     public static final int READ_IDLE_SECONDS = 5;
 
@@ -69,6 +163,11 @@ public final class LunaNetworkConstants {
      */
     public static final int MESSAGE_LIMIT = 15;
 
+    /**
+     * The capacity of the buffer that holds incoming messages between cycles, must be a power of two.
+     */
+    public static final int INBOUND_BUFFER_SIZE = 32;
+
     /**
      * The preferred ports for the user to use, a log message will be printed if none of these ports are used.
      */
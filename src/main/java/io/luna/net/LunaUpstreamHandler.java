@@ -4,7 +4,6 @@ import io.luna.net.session.Session;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.handler.timeout.ReadTimeoutException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -32,12 +31,8 @@ import static java.util.Objects.requireNonNull;
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable e) {
-        boolean channelReadTimeout = e instanceof ReadTimeoutException;
-
-        if (!channelReadTimeout) {
-            Optional<String> msg = Optional.ofNullable(e.getMessage());
-            msg.filter(it -> !LunaNetworkConstants.IGNORED_EXCEPTIONS.contains(it)).ifPresent(it -> LOGGER.catching(e));
-        }
+        Optional<String> msg = Optional.ofNullable(e.getMessage());
+        msg.filter(it -> !LunaNetworkConstants.IGNORED_EXCEPTIONS.contains(it)).ifPresent(it -> LOGGER.catching(e));
         ctx.channel().close();
     }
 
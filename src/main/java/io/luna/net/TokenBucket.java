@@ -0,0 +1,80 @@
+package io.luna.net;
+
+/**
+ * A token bucket that limits how often an action can be performed. Tokens are refilled continuously at a fixed rate, up to
+ * a maximum burst size.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class TokenBucket {
+
+    /**
+     * The amount of tokens refilled per nanosecond.
+     */
+    private final double ratePerNano;
+
+    /**
+     * The maximum amount of tokens.
+     */
+    private final double burst;
+
+    /**
+     * The amount of tokens currently available.
+     */
+    private double tokens;
+
+    /**
+     * The value of {@code System.nanoTime()} when tokens were last refilled.
+     */
+    private long lastRefill;
+
+    /**
+     * Creates a new, full {@link TokenBucket}.
+     *
+     * @param ratePerSecond The amount of tokens refilled per second.
+     * @param burst The maximum amount of tokens.
+     * @param now The current value of {@code System.nanoTime()}.
+     */
+    TokenBucket(double ratePerSecond, double burst, long now) {
+        ratePerNano = ratePerSecond / 1_000_000_000.0;
+        this.burst = burst;
+        tokens = burst;
+        lastRefill = now;
+    }
+
+    /**
+     * Attempts to take a single token from this bucket.
+     *
+     * @param now The current value of {@code System.nanoTime()}.
+     * @return {@code true} if a token was taken, {@code false} if none were available.
+     */
+    synchronized boolean tryAcquire(long now) {
+        refill(now);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Determines if this bucket is full, meaning it can be discarded without changing any outcome.
+     *
+     * @param now The current value of {@code System.nanoTime()}.
+     * @return {@code true} if this bucket is full.
+     */
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= burst;
+    }
+
+    /**
+     * Refills tokens for the time elapsed since the last refill.
+     *
+     * @param now The current value of {@code System.nanoTime()}.
+     */
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+    }
+}
@@ -51,7 +51,8 @@ public final class IsaacCipher {
     private final int[] state = new int[SIZE];
 
     /**
-     * The count through the results in the results array.
+     * The count through the results in the results array. Results are handed out from the end of the array towards the
+     * start, so this is also the amount of unused results left in the current block.
      */
     private int count = SIZE;
 
@@ -279,4 +280,61 @@ public final class IsaacCipher {
         return results[count];
     }
 
+    /**
+     * Fills {@code dest} with the next {@code length} random values, in the same order as repeated calls to {@code
+     * nextInt()} would return them. Values are copied straight out of each generated block, only generating a new block
+     * once the current one is used up.
+     *
+     * @param dest The array to fill.
+     * @param offset The index of {@code dest} to start at.
+     * @param length The amount of values.
+     */
+    public void nextInts(int[] dest, int offset, int length) {
+        int end = offset + length;
+        while (offset < end) {
+            if (count == 0) {
+                isaac();
+                count = SIZE;
+            }
+            int limit = Math.min(end, offset + count);
+            int cursor = count;
+            while (offset < limit) {
+                dest[offset++] = results[--cursor];
+            }
+            count = cursor;
+        }
+    }
+
+    /**
+     * Encrypts {@code length} opcodes in place, in the same way as adding the result of {@code nextInt()} to each opcode
+     * in order would. The encrypted opcodes are masked to a single byte.
+     *
+     * @param opcodes The opcodes to encrypt.
+     * @param offset The index of {@code opcodes} to start at.
+     * @param length The amount of opcodes.
+     */
+    public void encryptOpcodes(int[] opcodes, int offset, int length) {
+        int end = offset + length;
+        while (offset < end) {
+            if (count == 0) {
+                isaac();
+                count = SIZE;
+            }
+            int limit = Math.min(end, offset + count);
+            int cursor = count;
+            while (offset < limit) {
+                opcodes[offset] = (opcodes[offset] + results[--cursor]) & 0xFF;
+                offset++;
+            }
+            count = cursor;
+        }
+    }
+
+    /**
+     * @return The amount of values left in the current block before a new one has to be generated.
+     */
+    public int remaining() {
+        return count;
+    }
+
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import io.luna.net.codec.IsaacCipher;
 import io.luna.net.codec.MessageType;
 import io.luna.net.msg.GameMessage;
 import io.luna.net.msg.MessageRepository;
+import io.luna.net.msg.MessageStatistics;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
@@ -39,6 +40,11 @@ public final class GameMessageDecoder extends ByteToMessageDecoder {
      */
     private final MessageRepository messageRepository;
 
+    /**
+     * The statistics that decoded messages are recorded in.
+     */
+    private final MessageStatistics statistics;
+
     /**
      * The state of the message currently being decoded.
      */
@@ -69,10 +75,12 @@ public final class GameMessageDecoder extends ByteToMessageDecoder {
      *
      * @param decryptor The decryptor for this decoder.
      * @param messageRepository The repository containing data for incoming messages.
+     * @param statistics The statistics that decoded messages are recorded in.
      */
-    public GameMessageDecoder(IsaacCipher decryptor, MessageRepository messageRepository) {
+    public GameMessageDecoder(IsaacCipher decryptor, MessageRepository messageRepository, MessageStatistics statistics) {
         this.decryptor = decryptor;
         this.messageRepository = messageRepository;
+        this.statistics = statistics;
     }
 
     @Override
@@ -163,8 +171,10 @@ public final class GameMessageDecoder extends ByteToMessageDecoder {
         checkState(!currentMessage.isPresent(), "message already in queue");
 
         try {
+            statistics.recordInbound(opcode, type, size);
             if (messageRepository.getHandler(opcode) == null) {
                 LOGGER.debug("No InboundGameMessage assigned to [opcode={}]", opcode);
+                payload.release();
                 currentMessage = Optional.empty();
                 return;
             }
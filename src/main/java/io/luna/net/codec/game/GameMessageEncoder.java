@@ -1,10 +1,14 @@
 package io.luna.net.codec.game;
 
+import com.google.common.collect.ImmutableList;
 import io.luna.net.codec.IsaacCipher;
 import io.luna.net.codec.MessageType;
 import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.GameMessageBundle;
+import io.luna.net.msg.MessageStatistics;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 
 /**
@@ -19,25 +23,104 @@ public final class GameMessageEncoder extends MessageToByteEncoder<GameMessage>
      */
     private final IsaacCipher encryptor;
 
+    /**
+     * The statistics that encoded messages are recorded in.
+     */
+    private final MessageStatistics statistics;
+
     /**
      * Creates a new {@link GameMessageEncoder}.
      *
      * @param encryptor The encryptor for this encoder.
+     * @param statistics The statistics that encoded messages are recorded in.
      */
-    public GameMessageEncoder(IsaacCipher encryptor) {
+    public GameMessageEncoder(IsaacCipher encryptor, MessageStatistics statistics) {
         this.encryptor = encryptor;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof GameMessage && ((GameMessage) msg).isShared()) {
+            // Shared payloads are written as they are, only the header is encoded for this session.
+            GameMessage shared = (GameMessage) msg;
+            ByteBuf header = ctx.alloc().buffer(3);
+            encodeHeader(shared, shared.getOpcode() + encryptor.nextInt(), header);
+
+            ctx.write(header, ctx.voidPromise());
+            ctx.write(shared.getPayload().getBuffer(), promise);
+            return;
+        }
+        if (msg instanceof GameMessageBundle) {
+            writeBundle(ctx, (GameMessageBundle) msg, promise);
+            return;
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    /**
+     * Encodes every message in {@code bundle} into a single pooled buffer, and writes it.
+     *
+     * @param ctx The channel handler context.
+     * @param bundle The bundle to write.
+     * @param promise The promise notified once the bundle is written.
+     * @throws Exception If any exceptions are thrown while encoding.
+     */
+    private void writeBundle(ChannelHandlerContext ctx, GameMessageBundle bundle, ChannelPromise promise)
+        throws Exception {
+        ImmutableList<GameMessage> messages = bundle.getMessages();
+        ByteBuf out = ctx.alloc().ioBuffer(bundle.getSize());
+
+        // Encrypt every opcode in the bundle at once, straight from the current ISAAC block.
+        int[] opcodes = new int[messages.size()];
+        for (int index = 0; index < opcodes.length; index++) {
+            opcodes[index] = messages.get(index).getOpcode();
+        }
+        encryptor.encryptOpcodes(opcodes, 0, opcodes.length);
+
+        int index = 0;
+        try {
+            for (; index < messages.size(); index++) {
+                GameMessage msg = messages.get(index);
+                encodeHeader(msg, opcodes[index], out);
+                out.writeBytes(msg.getPayload().getBuffer());
+                msg.getPayload().release();
+            }
+        } catch (Exception e) {
+            // The message that failed has not been released yet, nor have the ones after it.
+            out.release();
+            for (; index < messages.size(); index++) {
+                messages.get(index).getPayload().release();
+            }
+            throw e;
+        }
+        ctx.write(out, promise);
     }
 
     @Override
     public void encode(ChannelHandlerContext ctx, GameMessage msg, ByteBuf out) throws Exception {
-        out.writeByte(msg.getOpcode() + encryptor.nextInt());
+        encodeHeader(msg, msg.getOpcode() + encryptor.nextInt(), out);
+        out.writeBytes(msg.getPayload().getBuffer());
+
+        msg.getPayload().release();
+    }
+
+    /**
+     * Encodes the encrypted opcode and, if needed, the size of {@code msg} into {@code out}, and records the
+     * message.
+     *
+     * @param msg The message to encode the header of.
+     * @param encryptedOpcode The opcode of the message, already encrypted.
+     * @param out The buffer to encode the header into.
+     */
+    private void encodeHeader(GameMessage msg, int encryptedOpcode, ByteBuf out) {
+        statistics.recordOutbound(msg.getOpcode(), msg.getType(), msg.getSize());
+
+        out.writeByte(encryptedOpcode);
         if (msg.getType() == MessageType.VARIABLE) {
             out.writeByte(msg.getSize());
         } else if (msg.getType() == MessageType.VARIABLE_SHORT) {
             out.writeShort(msg.getSize());
         }
-        out.writeBytes(msg.getPayload().getBuffer());
-
-        msg.getPayload().release();
     }
 }
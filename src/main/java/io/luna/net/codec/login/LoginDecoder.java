@@ -1,19 +1,24 @@
 package io.luna.net.codec.login;
 
 import io.luna.LunaContext;
+import io.luna.cache.Cache;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.IsaacCipher;
+import io.luna.net.codec.ondemand.OnDemandDecoder;
 import io.luna.net.msg.MessageRepository;
 import io.luna.net.session.LoginSession;
+import io.luna.net.session.OnDemandSession;
 import io.luna.net.session.Session;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.util.Attribute;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -33,6 +38,16 @@ public final class LoginDecoder extends ByteToMessageDecoder {
      */
     private static final Random RANDOM = new SecureRandom();
 
+    /**
+     * The opcode sent by the client to open an on-demand connection.
+     */
+    private static final int ONDEMAND_OPCODE = 15;
+
+    /**
+     * The size of the on-demand handshake response.
+     */
+    private static final int ONDEMAND_RESPONSE_SIZE = 8;
+
     /**
      * The current state of decoding the protocol.
      */
@@ -53,21 +68,33 @@ public final class LoginDecoder extends ByteToMessageDecoder {
      */
     private final MessageRepository messageRepository;
 
+    /**
+     * The cache served through the on-demand protocol, if one is available.
+     */
+    private final Optional<Cache> cache;
+
     /**
      * Creates a new {@link LoginDecoder}.
      *
      * @param context The underlying context to be managed under.
      * @param messageRepository The repository containing data for incoming messages.
+     * @param cache The cache served through the on-demand protocol, if one is available.
      */
-    public LoginDecoder(LunaContext context, MessageRepository messageRepository) {
+    public LoginDecoder(LunaContext context, MessageRepository messageRepository, Optional<Cache> cache) {
         this.context = context;
         this.messageRepository = messageRepository;
+        this.cache = cache;
     }
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
         switch (state) {
         case HANDSHAKE:
+            if (in.getUnsignedByte(in.readerIndex()) == ONDEMAND_OPCODE) {
+                decodeOnDemand(ctx, in);
+                break;
+            }
+
             Attribute<Session> attribute = ctx.channel().attr(SESSION_KEY);
 
             attribute.set(new LoginSession(context, ctx.channel(), messageRepository));
@@ -96,7 +123,7 @@ public final class LoginDecoder extends ByteToMessageDecoder {
      */
     private void decodeHandshake(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
         if (in.readableBytes() >= 2) {
-            int opcode = in.readUnsignedByte(); // TODO Ondemand?
+            int opcode = in.readUnsignedByte();
 
             @SuppressWarnings("unused") int nameHash = in.readUnsignedByte();
 
@@ -110,6 +137,29 @@ public final class LoginDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Decodes the on-demand handshake, after which the channel is used to serve cache files rather than to log in. The
+     * connection is closed if no cache is available.
+     *
+     * @param ctx The channel handler context.
+     * @param in The data that is being decoded.
+     */
+    private void decodeOnDemand(ChannelHandlerContext ctx, ByteBuf in) {
+        in.skipBytes(1);
+
+        if (!cache.isPresent()) {
+            ctx.close();
+            return;
+        }
+
+        ctx.channel().attr(SESSION_KEY).set(new OnDemandSession(ctx.channel(), cache.get()));
+        ctx.writeAndFlush(ctx.alloc().buffer(ONDEMAND_RESPONSE_SIZE).writeZero(ONDEMAND_RESPONSE_SIZE));
+
+        ChannelPipeline pipeline = ctx.pipeline();
+        pipeline.remove("login-encoder");
+        pipeline.replace(this, "ondemand-decoder", new OnDemandDecoder());
+    }
+
     /**
      * Decodes the portion of the login protocol where the login type and RSA block size are determined.
      *
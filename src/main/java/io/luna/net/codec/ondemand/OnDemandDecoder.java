@@ -0,0 +1,31 @@
+package io.luna.net.codec.ondemand;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+/**
+ * A {@link ByteToMessageDecoder} implementation that decodes {@link OnDemandRequest}s. Every request is four bytes: the
+ * type of file, the identifier of the file, and the priority.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class OnDemandDecoder extends ByteToMessageDecoder {
+
+    /**
+     * The size of a single request.
+     */
+    private static final int REQUEST_SIZE = 4;
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        while (in.readableBytes() >= REQUEST_SIZE) {
+            int type = in.readUnsignedByte();
+            int file = in.readUnsignedShort();
+            int priority = in.readUnsignedByte();
+            out.add(new OnDemandRequest(type, file, priority));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.luna.net.codec.ondemand;
+
+/**
+ * An immutable request for a single file from the on-demand server.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class OnDemandRequest {
+
+    /**
+     * The priority of requests for files the client needs right away.
+     */
+    public static final int URGENT = 2;
+
+    /**
+     * The type of file requested, the index of the file minus one.
+     */
+    private final int type;
+
+    /**
+     * The identifier of the file requested.
+     */
+    private final int file;
+
+    /**
+     * The priority of the request, {@code URGENT} for files needed right away and lower for files being preloaded.
+     */
+    private final int priority;
+
+    /**
+     * Creates a new {@link OnDemandRequest}.
+     *
+     * @param type The type of file requested.
+     * @param file The identifier of the file requested.
+     * @param priority The priority of the request.
+     */
+    public OnDemandRequest(int type, int file, int priority) {
+        this.type = type;
+        this.file = file;
+        this.priority = priority;
+    }
+
+    /**
+     * @return {@code true} if the client needs the file right away.
+     */
+    public boolean isUrgent() {
+        return priority >= URGENT;
+    }
+
+    /**
+     * @return The type of file requested, the index of the file minus one.
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * @return The index of the file requested.
+     */
+    public int getIndex() {
+        return type + 1;
+    }
+
+    /**
+     * @return The identifier of the file requested.
+     */
+    public int getFile() {
+        return file;
+    }
+
+    /**
+     * @return The priority of the request.
+     */
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,41 @@
+package io.luna.net.msg;
+
+import io.luna.game.event.Event;
+import io.luna.game.model.mobile.Player;
+
+/**
+ * An {@link InboundGameMessage} that splits reading into two stages. The decoding stage parses the payload into an immutable
+ * command and has no side effects, so it can safely be done on the networking thread as soon as the message arrives. The
+ * handling stage applies the command to the {@link Player} and is always done on the game thread.
+ *
+ * @param <T> The type of command this message is decoded into.
+ * @author lare96 <http://github.org/lare96>
+ */
+public abstract class DecodingInboundGameMessage<T> extends InboundGameMessage {
+
+    @Override
+    public final Event readMessage(Player player, GameMessage msg) throws Exception {
+        return handle(player, decode(msg));
+    }
+
+    /**
+     * Decodes {@code msg} into an immutable command. This may be invoked from any thread, so implementations must not read
+     * or modify any game state.
+     *
+     * @param msg The message to decode.
+     * @return The decoded command, never {@code null}.
+     * @throws Exception If any exceptions are thrown. Will later be caught by the session logger.
+     */
+    public abstract T decode(GameMessage msg) throws Exception;
+
+    /**
+     * Applies {@code command} on the game thread and returns the {@link Event} that will be forwarded to the {@link
+     * io.luna.game.plugin.PluginManager}, if any.
+     *
+     * @param player The player.
+     * @param command The command returned by {@code decode(GameMessage)}.
+     * @return The {@code Event} that will be forwarded to a plugin, {@code null} if no {@code Event} should be forwarded.
+     * @throws Exception If any exceptions are thrown. Will later be caught by the session logger.
+     */
+    public abstract Event handle(Player player, T command) throws Exception;
+}
@@ -33,6 +33,11 @@ public final class GameMessage {
      */
     private final ByteMessage payload;
 
+    /**
+     * If the payload of this message is a view of a buffer shared with other messages.
+     */
+    private final boolean shared;
+
     /**
      * Creates a new {@link GameMessage}.
      *
@@ -41,15 +46,39 @@ public final class GameMessage {
      * @param payload The payload of this message.
      */
     public GameMessage(int opcode, MessageType type, ByteMessage payload) {
+        this(opcode, type, payload, false);
+    }
+
+    /**
+     * Creates a new {@link GameMessage}.
+     *
+     * @param opcode The opcode of this message.
+     * @param type The type of this message.
+     * @param payload The payload of this message.
+     * @param shared If the payload is a view of a buffer shared with other messages.
+     */
+    private GameMessage(int opcode, MessageType type, ByteMessage payload, boolean shared) {
         checkArgument(opcode >= 0, "opcode < 0");
         checkArgument(type != MessageType.RAW, "type == MessageType.RAW");
 
         this.opcode = opcode;
         this.type = type;
         this.payload = payload;
+        this.shared = shared;
         size = payload.getBuffer().readableBytes();
     }
 
+    /**
+     * Creates a copy of this message whose payload is a retained view of this message's payload. The view has its own
+     * indexes but shares content, so the payload is only encoded once no matter how many sessions it is written to.
+     *
+     * @return The shared copy of this message.
+     */
+    public GameMessage retainedDuplicate() {
+        ByteMessage view = ByteMessage.wrap(payload.getBuffer().duplicate().retain());
+        return new GameMessage(opcode, type, view, true);
+    }
+
     /**
      * @return The opcode of this message.
      */
@@ -77,4 +106,11 @@ public final class GameMessage {
     public ByteMessage getPayload() {
         return payload;
     }
+
+    /**
+     * @return {@code true} if the payload of this message is a view of a buffer shared with other messages.
+     */
+    public boolean isShared() {
+        return shared;
+    }
 }
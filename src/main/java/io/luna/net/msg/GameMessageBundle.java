@@ -0,0 +1,63 @@
+package io.luna.net.msg;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of {@link GameMessage}s that are encoded into a single buffer and sent with a single write, rather than one
+ * write for each message.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class GameMessageBundle {
+
+    /**
+     * The messages in this bundle, in the order they will be sent.
+     */
+    private final List<GameMessage> messages = new ArrayList<>();
+
+    /**
+     * The total size of every message in this bundle, including headers.
+     */
+    private int size;
+
+    /**
+     * Adds {@code msg} to the end of this bundle.
+     *
+     * @param msg The message to add.
+     */
+    public void add(GameMessage msg) {
+        messages.add(msg);
+        size += msg.getSize() + MessageStatistics.headerSize(msg.getType());
+    }
+
+    /**
+     * Releases the payloads of every message in this bundle, used when the bundle will not be sent.
+     */
+    public void release() {
+        messages.forEach(it -> it.getPayload().release());
+    }
+
+    /**
+     * @return The messages in this bundle, in the order they will be sent.
+     */
+    public ImmutableList<GameMessage> getMessages() {
+        return ImmutableList.copyOf(messages);
+    }
+
+    /**
+     * @return The total size of every message in this bundle, including headers.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if this bundle contains no messages.
+     */
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+}
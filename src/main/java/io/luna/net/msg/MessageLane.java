@@ -0,0 +1,22 @@
+package io.luna.net.msg;
+
+/**
+ * An enumerated type whose elements represent where an inbound {@link GameMessage} is handled, configured per opcode in the
+ * {@link MessageRepository}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public enum MessageLane {
+
+    /**
+     * Messages that depend on cycle timing, queued and handled while players are processed every cycle.
+     */
+    TICK,
+
+    /**
+     * Messages that do not depend on cycle timing and are worth decoding off of the game thread. They are decoded on a
+     * worker thread and then handled on the game thread through {@code GameService.syncDeferrable(Runnable)}, so they only
+     * run while the cycle has budget left. Only messages handled by a {@link DecodingInboundGameMessage} can use this lane.
+     */
+    ASYNC
+}
@@ -0,0 +1,33 @@
+package io.luna.net.msg;
+
+/**
+ * An enumerated type whose elements represent how important it is that an {@link OutboundGameMessage} reaches the client,
+ * used to decide what is sent to sessions that can not keep up with outbound traffic, and what can wait for the next cycle
+ * when the current one is running over budget.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public enum MessagePriority {
+
+    /**
+     * Messages that must always be sent, the client breaks without them.
+     */
+    CRITICAL,
+
+    /**
+     * Update messages that are sent every cycle and fully describe the surroundings of a player.
+     */
+    UPDATE,
+
+    /**
+     * Every other message. Written behind any {@code DEFERRABLE} messages that were deferred before them, so they stay in
+     * order.
+     */
+    NORMAL,
+
+    /**
+     * Bulk messages that only refresh what the client displays, such as item groups and widget text. They are deferred to
+     * the next cycle when sent late in a cycle that is running over budget.
+     */
+    DEFERRABLE
+}
@@ -1,7 +1,13 @@
 package io.luna.net.msg;
 
+import io.luna.net.LunaNetworkConstants;
 import io.luna.util.ThreadUtils;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * A repository that contains data related to incoming {@link GameMessage}s.
  *
@@ -19,11 +25,28 @@ public final class MessageRepository {
      */
     private final InboundGameMessage[] inboundHandlers = new InboundGameMessage[257];
 
+    /**
+     * An array of integers that contain the maximum amount of each incoming message accepted per cycle.
+     */
+    private final int[] limits = new int[257];
+
+    /**
+     * An array of the {@link MessageLane}s that incoming messages are handled on.
+     */
+    private final MessageLane[] lanes = new MessageLane[257];
+
+    /**
+     * The amount of incoming messages dropped for each opcode, across all sessions.
+     */
+    private final AtomicLongArray dropped = new AtomicLongArray(257);
+
     /**
      * Creates a new {@link MessageRepository}.
      */
     public MessageRepository() {
         ThreadUtils.ensureInitThread();
+        Arrays.fill(limits, LunaNetworkConstants.MESSAGE_LIMIT);
+        Arrays.fill(lanes, MessageLane.TICK);
     }
 
     /**
@@ -36,11 +59,57 @@ public final class MessageRepository {
      * @throws ReflectiveOperationException If any errors occur while instantiating the {@link InboundGameMessage}.
      */
     public void addHandler(int opcode, int size, String inboundMessageName) throws ReflectiveOperationException {
+        addHandler(opcode, size, LunaNetworkConstants.MESSAGE_LIMIT, inboundMessageName);
+    }
+
+    /**
+     * Adds a new {@link InboundGameMessage} handler along with its size and per cycle limit.
+     *
+     * @param opcode The opcode of the message handler.
+     * @param size The size of the message.
+     * @param limit The maximum amount of this message accepted per cycle.
+     * @param inboundMessageName The class name of the {@link InboundGameMessage}, implicitly prefixed with the {@code
+     * io.luna.net.msg.in} package.
+     * @throws ReflectiveOperationException If any errors occur while instantiating the {@link InboundGameMessage}.
+     */
+    public void addHandler(int opcode, int size, int limit, String inboundMessageName) throws ReflectiveOperationException {
+        addHandler(opcode, size, limit, MessageLane.TICK, inboundMessageName);
+    }
+
+    /**
+     * Adds a new {@link InboundGameMessage} handler along with its size, per cycle limit, and lane.
+     *
+     * @param opcode The opcode of the message handler.
+     * @param size The size of the message.
+     * @param limit The maximum amount of this message accepted per cycle.
+     * @param lane The lane the message is handled on.
+     * @param inboundMessageName The class name of the {@link InboundGameMessage}, implicitly prefixed with the {@code
+     * io.luna.net.msg.in} package.
+     * @throws ReflectiveOperationException If any errors occur while instantiating the {@link InboundGameMessage}.
+     */
+    public void addHandler(int opcode, int size, int limit, MessageLane lane, String inboundMessageName)
+        throws ReflectiveOperationException {
         ThreadUtils.ensureInitThread();
+        checkArgument(limit > 0, "limit <= 0");
 
         Class<?> inboundMessageClass = Class.forName("io.luna.net.msg.in." + inboundMessageName);
+        InboundGameMessage handler = (InboundGameMessage) inboundMessageClass.newInstance();
+        checkArgument(lane == MessageLane.TICK || handler instanceof DecodingInboundGameMessage,
+            "only decoding messages can be handled on the ASYNC lane");
+
         sizes[opcode] = size;
-        inboundHandlers[opcode] = (InboundGameMessage) inboundMessageClass.newInstance();
+        limits[opcode] = limit;
+        lanes[opcode] = lane;
+        inboundHandlers[opcode] = handler;
+    }
+
+    /**
+     * Records that a message was dropped before it could be handled.
+     *
+     * @param opcode The opcode of the dropped message.
+     */
+    public void recordDropped(int opcode) {
+        dropped.incrementAndGet(opcode);
     }
 
     /**
@@ -62,4 +131,34 @@ public final class MessageRepository {
     public InboundGameMessage getHandler(int opcode) {
         return inboundHandlers[opcode];
     }
+
+    /**
+     * Retrieves the maximum amount of messages accepted per cycle for {@code opcode}.
+     *
+     * @param opcode The opcode to retrieve the limit of.
+     * @return The limit of {@code opcode}.
+     */
+    public int getLimit(int opcode) {
+        return limits[opcode];
+    }
+
+    /**
+     * Retrieves the lane that messages with {@code opcode} are handled on.
+     *
+     * @param opcode The opcode to retrieve the lane of.
+     * @return The lane of {@code opcode}.
+     */
+    public MessageLane getLane(int opcode) {
+        return lanes[opcode];
+    }
+
+    /**
+     * Retrieves the amount of messages dropped for {@code opcode}, across all sessions.
+     *
+     * @param opcode The opcode to retrieve the amount of dropped messages for.
+     * @return The amount of dropped messages.
+     */
+    public long getDropped(int opcode) {
+        return dropped.get(opcode);
+    }
 }
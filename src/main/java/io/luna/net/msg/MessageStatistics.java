@@ -0,0 +1,235 @@
+package io.luna.net.msg;
+
+import com.google.common.collect.ImmutableMap;
+import io.luna.game.model.mobile.Player;
+import io.luna.net.codec.MessageType;
+import io.luna.util.TimeHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free traffic statistics for every opcode, updated by the game message codecs, along with sampled encode times for
+ * every type of {@link OutboundGameMessage}. Byte counts include the header of each message.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class MessageStatistics {
+
+    /**
+     * A snapshot of {@link MessageStatistics}, taken at a single point in time.
+     */
+    public static final class Snapshot {
+
+        /**
+         * The time this snapshot was taken at, in milliseconds.
+         */
+        private final long timestamp;
+
+        /**
+         * The amount of inbound messages for each opcode.
+         */
+        private final long[] inboundCounts;
+
+        /**
+         * The amount of inbound bytes for each opcode.
+         */
+        private final long[] inboundBytes;
+
+        /**
+         * The amount of outbound messages for each opcode.
+         */
+        private final long[] outboundCounts;
+
+        /**
+         * The amount of outbound bytes for each opcode.
+         */
+        private final long[] outboundBytes;
+
+        /**
+         * The encode times for each message type, keyed by simple class name.
+         */
+        private final ImmutableMap<String, TimeHistogram> encodeTimes;
+
+        /**
+         * Creates a new {@link Snapshot}.
+         *
+         * @param statistics The statistics to take a snapshot of.
+         */
+        private Snapshot(MessageStatistics statistics) {
+            timestamp = System.currentTimeMillis();
+            inboundCounts = copy(statistics.inboundCounts);
+            inboundBytes = copy(statistics.inboundBytes);
+            outboundCounts = copy(statistics.outboundCounts);
+            outboundBytes = copy(statistics.outboundBytes);
+
+            ImmutableMap.Builder<String, TimeHistogram> builder = ImmutableMap.builder();
+            for (Map.Entry<Class<?>, TimeHistogram> it : statistics.encodeTimes.entrySet()) {
+                builder.put(it.getKey().getSimpleName(), it.getValue().copy());
+            }
+            encodeTimes = builder.build();
+        }
+
+        /**
+         * @return The time this snapshot was taken at, in milliseconds.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return The amount of inbound messages with {@code opcode}.
+         */
+        public long getInboundCount(int opcode) {
+            return inboundCounts[opcode];
+        }
+
+        /**
+         * @return The amount of inbound bytes for messages with {@code opcode}.
+         */
+        public long getInboundBytes(int opcode) {
+            return inboundBytes[opcode];
+        }
+
+        /**
+         * @return The amount of outbound messages with {@code opcode}.
+         */
+        public long getOutboundCount(int opcode) {
+            return outboundCounts[opcode];
+        }
+
+        /**
+         * @return The amount of outbound bytes for messages with {@code opcode}.
+         */
+        public long getOutboundBytes(int opcode) {
+            return outboundBytes[opcode];
+        }
+
+        /**
+         * @return The encode times for each message type, keyed by simple class name.
+         */
+        public ImmutableMap<String, TimeHistogram> getEncodeTimes() {
+            return encodeTimes;
+        }
+    }
+
+    /**
+     * The amount of possible opcodes.
+     */
+    private static final int OPCODES = 256;
+
+    /**
+     * One in this many outbound messages will have their encode time sampled.
+     */
+    private static final int SAMPLE_RATE = 32;
+
+    /**
+     * The amount of inbound messages for each opcode.
+     */
+    private final AtomicLongArray inboundCounts = new AtomicLongArray(OPCODES);
+
+    /**
+     * The amount of inbound bytes for each opcode.
+     */
+    private final AtomicLongArray inboundBytes = new AtomicLongArray(OPCODES);
+
+    /**
+     * The amount of outbound messages for each opcode.
+     */
+    private final AtomicLongArray outboundCounts = new AtomicLongArray(OPCODES);
+
+    /**
+     * The amount of outbound bytes for each opcode.
+     */
+    private final AtomicLongArray outboundBytes = new AtomicLongArray(OPCODES);
+
+    /**
+     * The encode times for each message type.
+     */
+    private final ConcurrentMap<Class<?>, TimeHistogram> encodeTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Records an inbound message.
+     *
+     * @param opcode The opcode of the message.
+     * @param type The type of the message.
+     * @param size The size of the payload.
+     */
+    public void recordInbound(int opcode, MessageType type, int size) {
+        inboundCounts.incrementAndGet(opcode);
+        inboundBytes.addAndGet(opcode, size + headerSize(type));
+    }
+
+    /**
+     * Records an outbound message.
+     *
+     * @param opcode The opcode of the message.
+     * @param type The type of the message.
+     * @param size The size of the payload.
+     */
+    public void recordOutbound(int opcode, MessageType type, int size) {
+        outboundCounts.incrementAndGet(opcode);
+        outboundBytes.addAndGet(opcode, size + headerSize(type));
+    }
+
+    /**
+     * Encodes {@code msg} for {@code player}, sampling the time taken to do so.
+     *
+     * @param msg The message to encode.
+     * @param player The player, may be {@code null} for broadcast messages.
+     * @return The encoded message.
+     */
+    public GameMessage encode(OutboundGameMessage msg, Player player) {
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            return msg.toGameMessage(player);
+        }
+
+        long start = System.nanoTime();
+        GameMessage encoded = msg.toGameMessage(player);
+        long elapsed = System.nanoTime() - start;
+
+        encodeTimes.computeIfAbsent(msg.getClass(), it -> new TimeHistogram()).record(elapsed);
+        return encoded;
+    }
+
+    /**
+     * @return A snapshot of these statistics.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Returns the size of the header for messages of {@code type}, including the opcode.
+     *
+     * @param type The type of message.
+     * @return The size of the header, in bytes.
+     */
+    public static int headerSize(MessageType type) {
+        switch (type) {
+        case VARIABLE:
+            return 2;
+        case VARIABLE_SHORT:
+            return 3;
+        default:
+            return 1;
+        }
+    }
+
+    /**
+     * Copies the values of {@code array} into a new {@code long} array.
+     *
+     * @param array The array to copy.
+     * @return The copy.
+     */
+    private static long[] copy(AtomicLongArray array) {
+        long[] copy = new long[array.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = array.get(i);
+        }
+        return copy;
+    }
+}
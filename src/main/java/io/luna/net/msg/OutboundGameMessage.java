@@ -19,6 +19,16 @@ public abstract class OutboundGameMessage {
      */
     public abstract ByteMessage writeMessage(Player player);
 
+    /**
+     * Returns the priority of this message, used to decide if it should still be sent to a client that can not keep up with
+     * outbound traffic. Messages are {@code NORMAL} by default.
+     *
+     * @return The priority of this message.
+     */
+    public MessagePriority getPriority() {
+        return MessagePriority.NORMAL;
+    }
+
     /**
      * Converts the {@link ByteMessage} returned by {@code writeMessage(Player)} to a {@link GameMessage}.
      *
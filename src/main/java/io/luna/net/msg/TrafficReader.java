@@ -0,0 +1,126 @@
+package io.luna.net.msg;
+
+import io.luna.game.model.Position;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Reads a log written by a {@link TrafficRecorder}, passing every record to a {@link Visitor} in the order it was recorded.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TrafficReader {
+
+    /**
+     * Receives the records of a log.
+     */
+    public interface Visitor {
+
+        /**
+         * Invoked when the records that follow were handled on {@code tick}.
+         *
+         * @param tick The cycle.
+         */
+        void onTick(long tick);
+
+        /**
+         * Invoked when a player logged in.
+         *
+         * @param index The index of the player.
+         * @param username The username of the player.
+         * @param position The position of the player.
+         */
+        void onLogin(int index, String username, Position position);
+
+        /**
+         * Invoked when an inbound message was handled.
+         *
+         * @param index The index of the player.
+         * @param opcode The opcode of the message.
+         * @param payload The payload of the message.
+         */
+        void onMessage(int index, int opcode, byte[] payload);
+
+        /**
+         * Invoked when a player logged out.
+         *
+         * @param index The index of the player.
+         */
+        void onLogout(int index);
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private TrafficReader() {
+    }
+
+    /**
+     * Reads every record in {@code file}.
+     *
+     * @param file The log to read.
+     * @param visitor The visitor that receives the records.
+     * @throws IOException If the log could not be read, or is corrupt.
+     */
+    public static void read(Path file, Visitor visitor) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            checkState(in.readInt() == TrafficRecorder.MAGIC, "not a traffic log");
+            checkState(in.readUnsignedByte() == TrafficRecorder.VERSION, "unsupported traffic log version");
+
+            for (; ; ) {
+                int type = in.read();
+                if (type == -1) {
+                    break;
+                }
+
+                switch (type) {
+                case TrafficRecorder.TICK:
+                    visitor.onTick(in.readLong());
+                    break;
+                case TrafficRecorder.LOGIN:
+                    int index = readVarInt(in);
+                    String username = in.readUTF();
+                    visitor.onLogin(index, username, new Position(readVarInt(in), readVarInt(in), readVarInt(in)));
+                    break;
+                case TrafficRecorder.MESSAGE:
+                    index = readVarInt(in);
+                    int opcode = in.readUnsignedByte();
+                    byte[] payload = new byte[readVarInt(in)];
+                    in.readFully(payload);
+                    visitor.onMessage(index, opcode, payload);
+                    break;
+                case TrafficRecorder.LOGOUT:
+                    visitor.onLogout(readVarInt(in));
+                    break;
+                default:
+                    throw new IOException("unknown record type " + type);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a variable-length integer written by a {@link TrafficRecorder}.
+     *
+     * @param in The stream to read from.
+     * @return The integer.
+     * @throws IOException If the stream ends early, or the integer is malformed.
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed variable-length integer");
+    }
+}
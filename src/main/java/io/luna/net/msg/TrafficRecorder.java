@@ -0,0 +1,284 @@
+package io.luna.net.msg;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.LunaContext;
+import io.luna.game.model.Position;
+import io.luna.game.model.mobile.Player;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Records every inbound {@link GameMessage} handled on the game thread, along with every login and logout, to a compact
+ * binary log that can be replayed with a {@link TrafficReader}. Records are buffered on the game thread and written to disk
+ * by a background thread once per cycle.
+ * <p>
+ * <p>
+ * The log starts with {@code MAGIC} and {@code VERSION}, followed by records that each start with their type. A {@code
+ * TICK} record holds the cycle that the records after it were handled on. A {@code LOGIN} record holds the index, username,
+ * and position of a player, a {@code MESSAGE} record holds the index of the player along with the opcode, size, and payload
+ * of the message, and a {@code LOGOUT} record holds the index of the player. Indexes, sizes, and coordinates are written as
+ * variable-length integers.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TrafficRecorder {
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(TrafficRecorder.class);
+
+    /**
+     * The value every log starts with.
+     */
+    static final int MAGIC = 0x4C4E5452;
+
+    /**
+     * The version of the log format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The type of record that starts a cycle.
+     */
+    static final int TICK = 0;
+
+    /**
+     * The type of record written when a player logs in.
+     */
+    static final int LOGIN = 1;
+
+    /**
+     * The type of record written for every inbound message.
+     */
+    static final int MESSAGE = 2;
+
+    /**
+     * The type of record written when a player logs out.
+     */
+    static final int LOGOUT = 3;
+
+    /**
+     * The underlying context to be managed under.
+     */
+    private final LunaContext context;
+
+    /**
+     * The records written during the current cycle, only accessed by the game thread.
+     */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    /**
+     * Writes to {@code pending}.
+     */
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+
+    /**
+     * The cycle that the last {@code TICK} record was written for.
+     */
+    private long lastTick = -1;
+
+    /**
+     * The thread that writes records to disk, {@code null} if not recording.
+     */
+    private ExecutorService writer;
+
+    /**
+     * The stream records are written to, only accessed by {@code writer}.
+     */
+    private OutputStream out;
+
+    /**
+     * If records are currently being recorded.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * Creates a new {@link TrafficRecorder}.
+     *
+     * @param context The underlying context to be managed under.
+     */
+    public TrafficRecorder(LunaContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts recording to {@code file}, replacing it if it already exists.
+     *
+     * @param file The file to record to.
+     * @throws IOException If the file could not be opened.
+     */
+    public void start(Path file) throws IOException {
+        checkState(!enabled, "already recording");
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        DataOutputStream header = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+
+        out = header;
+        writer = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("LunaTrafficRecorderThread").setDaemon(true).build());
+        enabled = true;
+
+        LOGGER.info("Recording inbound traffic to {}.", file);
+    }
+
+    /**
+     * Records that {@code player} has logged in. Must be called from the game thread.
+     *
+     * @param player The player.
+     */
+    public void recordLogin(Player player) {
+        if (enabled) {
+            try {
+                Position position = player.getPosition();
+                writeTick();
+                pendingOut.writeByte(LOGIN);
+                writeVarInt(player.getIndex());
+                pendingOut.writeUTF(player.getUsername());
+                writeVarInt(position.getX());
+                writeVarInt(position.getY());
+                writeVarInt(position.getZ());
+            } catch (IOException e) {
+                LOGGER.catching(e);
+            }
+        }
+    }
+
+    /**
+     * Records an inbound message handled for {@code player}. Must be called from the game thread.
+     *
+     * @param player The player.
+     * @param opcode The opcode of the message.
+     * @param payload The payload of the message.
+     */
+    public void recordMessage(Player player, int opcode, byte[] payload) {
+        if (enabled) {
+            try {
+                writeTick();
+                pendingOut.writeByte(MESSAGE);
+                writeVarInt(player.getIndex());
+                pendingOut.writeByte(opcode);
+                writeVarInt(payload.length);
+                pendingOut.write(payload);
+            } catch (IOException e) {
+                LOGGER.catching(e);
+            }
+        }
+    }
+
+    /**
+     * Records that {@code player} is logging out. Must be called from the game thread, before the player is removed.
+     *
+     * @param player The player.
+     */
+    public void recordLogout(Player player) {
+        if (enabled) {
+            try {
+                writeTick();
+                pendingOut.writeByte(LOGOUT);
+                writeVarInt(player.getIndex());
+            } catch (IOException e) {
+                LOGGER.catching(e);
+            }
+        }
+    }
+
+    /**
+     * Hands the records written during the current cycle to the background thread, which writes them through to the log so
+     * that at most one cycle is lost if the application exits abruptly. Called once every cycle from the game thread.
+     */
+    public void flush() {
+        if (enabled) {
+            try {
+                // Cycles without any records are still replayed.
+                writeTick();
+            } catch (IOException e) {
+                LOGGER.catching(e);
+            }
+
+            byte[] records = pending.toByteArray();
+            pending.reset();
+            writer.execute(() -> {
+                try {
+                    out.write(records);
+                    out.flush();
+                } catch (IOException e) {
+                    LOGGER.catching(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops recording, writing all remaining records and closing the log. Must be called from the game thread.
+     *
+     * @throws InterruptedException If interrupted while waiting for the log to close.
+     */
+    public void stop() throws InterruptedException {
+        if (enabled) {
+            flush();
+            enabled = false;
+            writer.execute(() -> {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    LOGGER.catching(e);
+                }
+            });
+            writer.shutdown();
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
+    }
+
+    /**
+     * Writes a {@code TICK} record if one has not been written for the current cycle yet.
+     *
+     * @throws IOException Never, records are written to memory.
+     */
+    private void writeTick() throws IOException {
+        long tick = context.getService().getTickCount();
+        if (tick != lastTick) {
+            lastTick = tick;
+            pendingOut.writeByte(TICK);
+            pendingOut.writeLong(tick);
+        }
+    }
+
+    /**
+     * Writes {@code value} using seven bits per byte, with the high bit set on every byte but the last.
+     *
+     * @param value The non-negative value to write.
+     * @throws IOException Never, records are written to memory.
+     */
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            pendingOut.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        pendingOut.writeByte(value);
+    }
+
+    /**
+     * @return {@code true} if records are currently being recorded.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -5,20 +5,20 @@ import io.luna.game.GameService;
 import io.luna.game.event.Event;
 import io.luna.game.event.impl.CommandEvent;
 import io.luna.game.model.mobile.Player;
-import io.luna.game.plugin.PluginBootstrap;
-import io.luna.game.plugin.PluginManager;
+import io.luna.game.plugin.PluginReloader;
+import io.luna.net.msg.DecodingInboundGameMessage;
 import io.luna.net.msg.GameMessage;
-import io.luna.net.msg.InboundGameMessage;
 
 /**
- * An {@link InboundGameMessage} implementation that decodes data sent when a {@link Player} tries to activate a command.
+ * A {@link DecodingInboundGameMessage} implementation that decodes data sent when a {@link Player} tries to activate a
+ * command.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class ReceiveCommandMessage extends InboundGameMessage {
+public final class ReceiveCommandMessage extends DecodingInboundGameMessage<CommandEvent> {
 
     @Override
-    public Event readMessage(Player player, GameMessage msg) throws Exception {
+    public CommandEvent decode(GameMessage msg) throws Exception {
         String string = msg.getPayload().getString();
         string = string.toLowerCase();
         int index = string.indexOf(' ');
@@ -28,19 +28,20 @@ public final class ReceiveCommandMessage extends InboundGameMessage {
 
         String name = string.substring(0, index);
         String[] args = string.substring(index + 1).split(" ");
+        return new CommandEvent(name, args);
+    }
+
+    @Override
+    public Event handle(Player player, CommandEvent command) throws Exception {
 
         // Has to be done in Java because of classpath conflicts.
-        if (name.equals("reloadplugins")) {
-            // TODO: implement some sort of additional cache that will allow for "hot fixes" without potentially interrupting
-            // gameplay. for now just clear plugin cache and do async reload of bootstrap
+        if (command.getName().equals("reloadplugins")) {
+            // The current plugins keep handling events until the reloaded ones are swapped in.
             LunaContext ctx = player.getContext();
-            PluginManager plugins = ctx.getPlugins();
             GameService service = ctx.getService();
-            plugins.clear();
-            service.execute(new PluginBootstrap(ctx));
+            service.execute(new PluginReloader(ctx)::reloadAll);
             return null;
         }
-
-        return new CommandEvent(name, args);
+        return command;
     }
 }
@@ -5,20 +5,21 @@ import io.luna.game.event.impl.PickupItemEvent;
 import io.luna.game.model.def.ItemDefinition;
 import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteOrder;
+import io.luna.net.msg.DecodingInboundGameMessage;
 import io.luna.net.msg.GameMessage;
-import io.luna.net.msg.InboundGameMessage;
 
 import static com.google.common.base.Preconditions.checkState;
 
 /**
- * An {@link InboundGameMessage} implementation that decodes data sent when a {@link Player} tries to pick up an item.
+ * A {@link DecodingInboundGameMessage} implementation that decodes data sent when a {@link Player} tries to pick up an
+ * item.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class ReceivePickupItemMessage extends InboundGameMessage {
+public final class ReceivePickupItemMessage extends DecodingInboundGameMessage<PickupItemEvent> {
 
     @Override
-    public Event readMessage(Player player, GameMessage msg) throws Exception {
+    public PickupItemEvent decode(GameMessage msg) throws Exception {
         int y = msg.getPayload().getShort(false, ByteOrder.LITTLE);
         int id = msg.getPayload().getShort(false);
         int x = msg.getPayload().getShort(false, ByteOrder.LITTLE);
@@ -26,4 +27,9 @@ public final class ReceivePickupItemMessage extends InboundGameMessage {
         checkState(id < 0 || id >= ItemDefinition.DEFINITIONS.length, "invalid item id");
         return new PickupItemEvent(x, y, id);
     }
+
+    @Override
+    public Event handle(Player player, PickupItemEvent command) throws Exception {
+        return command;
+    }
 }
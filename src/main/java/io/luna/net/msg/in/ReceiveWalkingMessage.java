@@ -8,18 +8,46 @@ import io.luna.game.model.mobile.WalkingQueue.Step;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteOrder;
 import io.luna.net.codec.ByteTransform;
+import io.luna.net.msg.DecodingInboundGameMessage;
 import io.luna.net.msg.GameMessage;
-import io.luna.net.msg.InboundGameMessage;
+import io.luna.net.msg.in.ReceiveWalkingMessage.WalkingPath;
 
 /**
- * An {@link InboundGameMessage} implementation that decodes data sent when a {@link Player} tries to walk.
+ * A {@link DecodingInboundGameMessage} implementation that decodes data sent when a {@link Player} tries to walk.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class ReceiveWalkingMessage extends InboundGameMessage {
+public final class ReceiveWalkingMessage extends DecodingInboundGameMessage<WalkingPath> {
+
+    /**
+     * An immutable decoded path that a {@link Player} has requested to walk.
+     */
+    public static final class WalkingPath {
+
+        /**
+         * The steps of the path, starting with the first step.
+         */
+        private final Step[] steps;
+
+        /**
+         * If the {@link Player} is running.
+         */
+        private final boolean running;
+
+        /**
+         * Creates a new {@link WalkingPath}.
+         *
+         * @param steps The steps of the path, starting with the first step.
+         * @param running If the {@link Player} is running.
+         */
+        private WalkingPath(Step[] steps, boolean running) {
+            this.steps = steps;
+            this.running = running;
+        }
+    }
 
     @Override
-    public Event readMessage(Player player, GameMessage msg) throws Exception {
+    public WalkingPath decode(GameMessage msg) throws Exception {
         int opcode = msg.getOpcode();
         int size = msg.getSize();
         ByteMessage payload = msg.getPayload();
@@ -38,14 +66,28 @@ public final class ReceiveWalkingMessage extends InboundGameMessage {
         int y = payload.getShort(false, ByteOrder.LITTLE);
         boolean running = payload.get(false, ByteTransform.S) == 1;
 
-        WalkingQueue walkingQueue = player.getWalkingQueue();
-        walkingQueue.setRunning(running);
-        walkingQueue.clear();
         Step[] steps = new Step[pathSize + 1];
-        walkingQueue.addFirst(steps[0] = new Step(x, y));
+        steps[0] = new Step(x, y);
         for (int i = 0; i < pathSize; i++) {
-            walkingQueue.add(steps[i + 1] = new Step(path[i][0] + x, path[i][1] + y));
+            steps[i + 1] = new Step(path[i][0] + x, path[i][1] + y);
+        }
+        return new WalkingPath(steps, running);
+    }
+
+    @Override
+    public Event handle(Player player, WalkingPath command) throws Exception {
+        Step[] steps = command.steps;
+
+        WalkingQueue walkingQueue = player.getWalkingQueue();
+        walkingQueue.setRunning(command.running);
+        walkingQueue.clear();
+        walkingQueue.addFirst(steps[0]);
+        for (int i = 1; i < steps.length; i++) {
+            walkingQueue.add(steps[i]);
+        }
+        if (!player.getPlugins().hasListeners(WalkingEvent.class)) {
+            return null;
         }
-        return new WalkingEvent(steps, running);
+        return WalkingEvent.reuse(steps, command.running);
     }
 }
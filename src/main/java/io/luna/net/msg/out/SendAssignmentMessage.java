@@ -4,6 +4,7 @@ import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteOrder;
 import io.luna.net.codec.ByteTransform;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.OutboundGameMessage;
 
 /**
@@ -35,4 +36,9 @@ public final class SendAssignmentMessage extends OutboundGameMessage {
         msg.putShort(player.getIndex(), ByteTransform.A, ByteOrder.LITTLE);
         return msg;
     }
+
+    @Override
+    public MessagePriority getPriority() {
+        return MessagePriority.CRITICAL;
+    }
 }
@@ -2,6 +2,7 @@ package io.luna.net.msg.out;
 
 import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.OutboundGameMessage;
 
 /**
@@ -15,4 +16,9 @@ public final class SendLogoutMessage extends OutboundGameMessage {
     public ByteMessage writeMessage(Player player) {
         return ByteMessage.message(109);
     }
+
+    @Override
+    public MessagePriority getPriority() {
+        return MessagePriority.CRITICAL;
+    }
 }
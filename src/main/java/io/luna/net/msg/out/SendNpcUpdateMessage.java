@@ -17,6 +17,7 @@ import io.luna.game.model.mobile.update.UpdateState;
 import io.luna.game.model.region.RegionManager;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.MessageType;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.OutboundGameMessage;
 
 import java.util.Iterator;
@@ -142,4 +143,9 @@ public final class SendNpcUpdateMessage extends OutboundGameMessage {
             msg.putBit(updateRequired);
         }
     }
+
+    @Override
+    public MessagePriority getPriority() {
+        return MessagePriority.UPDATE;
+    }
 }
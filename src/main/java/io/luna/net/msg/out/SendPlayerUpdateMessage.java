@@ -20,6 +20,7 @@ import io.luna.game.model.mobile.update.UpdateState;
 import io.luna.game.model.region.RegionManager;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.MessageType;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.OutboundGameMessage;
 
 import java.util.Iterator;
@@ -174,4 +175,9 @@ public final class SendPlayerUpdateMessage extends OutboundGameMessage {
             }
         }
     }
+
+    @Override
+    public MessagePriority getPriority() {
+        return MessagePriority.UPDATE;
+    }
 }
@@ -3,6 +3,7 @@ package io.luna.net.msg.out;
 import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteTransform;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.OutboundGameMessage;
 
 /**
@@ -19,4 +20,9 @@ public final class SendRegionChangeMessage extends OutboundGameMessage {
         msg.putShort(player.getPosition().getRegionY() + 6);
         return msg;
     }
+
+    @Override
+    public MessagePriority getPriority() {
+        return MessagePriority.CRITICAL;
+    }
 }
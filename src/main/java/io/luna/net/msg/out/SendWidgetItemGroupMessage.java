@@ -6,6 +6,7 @@ import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteOrder;
 import io.luna.net.codec.ByteTransform;
 import io.luna.net.codec.MessageType;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.OutboundGameMessage;
 
 /**
@@ -59,4 +60,9 @@ public final class SendWidgetItemGroupMessage extends OutboundGameMessage {
         }
         return msg;
     }
+
+    @Override
+    public MessagePriority getPriority() {
+        return MessagePriority.DEFERRABLE;
+    }
 }
@@ -4,6 +4,7 @@ import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteTransform;
 import io.luna.net.codec.MessageType;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.OutboundGameMessage;
 
 /**
@@ -41,4 +42,9 @@ public final class SendWidgetTextMessage extends OutboundGameMessage {
         msg.putShort(id, ByteTransform.A);
         return msg;
     }
+
+    @Override
+    public MessagePriority getPriority() {
+        return MessagePriority.DEFERRABLE;
+    }
 }
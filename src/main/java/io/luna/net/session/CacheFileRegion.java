@@ -0,0 +1,30 @@
+package io.luna.net.session;
+
+import io.netty.channel.DefaultFileRegion;
+
+import java.nio.channels.FileChannel;
+
+/**
+ * A {@link DefaultFileRegion} over the data file of a {@link io.luna.cache.Cache}. The data file is shared by every region
+ * and outlives all of them, so unlike a {@code DefaultFileRegion} it is not closed once this region is released.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class CacheFileRegion extends DefaultFileRegion {
+
+    /**
+     * Creates a new {@link CacheFileRegion}.
+     *
+     * @param file The data file.
+     * @param position The position within the data file to start transferring from.
+     * @param count The amount of bytes to transfer.
+     */
+    CacheFileRegion(FileChannel file, long position, long count) {
+        super(file, position, count);
+    }
+
+    @Override
+    protected void deallocate() {
+        // The data file is owned by the cache.
+    }
+}
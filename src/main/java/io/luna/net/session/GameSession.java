@@ -1,19 +1,33 @@
 package io.luna.net.session;
 
+import io.luna.game.GameService;
+import io.luna.game.WorkPriority;
 import io.luna.game.event.Event;
 import io.luna.game.model.mobile.Player;
 import io.luna.net.LunaNetworkConstants;
 import io.luna.net.codec.IsaacCipher;
+import io.luna.net.msg.DecodingInboundGameMessage;
 import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.GameMessageBundle;
 import io.luna.net.msg.InboundGameMessage;
+import io.luna.net.msg.MessageLane;
+import io.luna.net.msg.MessagePriority;
 import io.luna.net.msg.MessageRepository;
+import io.luna.net.msg.MessageStatistics;
 import io.luna.net.msg.OutboundGameMessage;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelOutboundBuffer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * A {@link Session} implementation that handles networking for a {@link Player} during gameplay.
@@ -27,6 +41,17 @@ public final class GameSession extends Session {
      */
     private static final Logger LOGGER = LogManager.getLogger(GameSession.class);
 
+    /**
+     * The amount of nanoseconds into a cycle after which {@code DEFERRABLE} messages are deferred.
+     */
+    private static final long DEFER_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+        LunaNetworkConstants.DEFER_THRESHOLD_MILLIS);
+
+    /**
+     * The total amount of bytes pending in the outbound buffers of every session, as of their last cycle.
+     */
+    private static final AtomicLong PENDING_OUTBOUND_BYTES = new AtomicLong();
+
     /**
      * The player assigned to this {@code GameSession}.
      */
@@ -48,9 +73,92 @@ public final class GameSession extends Session {
     private final MessageRepository messageRepository;
 
     /**
-     * A bounded queue of inbound {@link GameMessage}s.
+     * A bounded buffer of inbound {@link GameMessage}s, filled by the networking thread and drained by the game thread.
      */
-    private final Queue<GameMessage> inboundQueue = new ArrayBlockingQueue<>(LunaNetworkConstants.MESSAGE_LIMIT);
+    private final SpscRingBuffer<QueuedMessage> inboundQueue = new SpscRingBuffer<>(LunaNetworkConstants.INBOUND_BUFFER_SIZE);
+
+    /**
+     * The amount of each inbound message accepted during the current cycle, only accessed by the networking thread.
+     */
+    private final int[] opcodeCounts = new int[256];
+
+    /**
+     * The total amount of inbound messages accepted during the current cycle, only accessed by the networking thread.
+     */
+    private int messageCount;
+
+    /**
+     * The cycle that {@code opcodeCounts} and {@code messageCount} were last reset on, only accessed by the networking
+     * thread.
+     */
+    private int countedCycle;
+
+    /**
+     * The current cycle, incremented by the game thread every time the inbound queue is drained.
+     */
+    private volatile int cycle;
+
+    /**
+     * The total amount of inbound messages dropped for this session.
+     */
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    /**
+     * The total amount of inbound messages received by this session.
+     */
+    private final AtomicLong inboundMessages = new AtomicLong();
+
+    /**
+     * The total amount of inbound bytes received by this session, including message headers.
+     */
+    private final AtomicLong inboundBytes = new AtomicLong();
+
+    /**
+     * The total amount of outbound messages written for this session.
+     */
+    private final AtomicLong outboundMessages = new AtomicLong();
+
+    /**
+     * The total amount of outbound bytes written for this session, including message headers.
+     */
+    private final AtomicLong outboundBytes = new AtomicLong();
+
+    /**
+     * The total amount of outbound messages dropped for this session because its channel was unwritable.
+     */
+    private final AtomicLong droppedOutboundMessages = new AtomicLong();
+
+    /**
+     * The total amount of outbound messages deferred to the next cycle for this session.
+     */
+    private final AtomicLong deferredMessages = new AtomicLong();
+
+    /**
+     * The {@code DEFERRABLE} messages waiting to be written on the next cycle, only accessed by the game thread.
+     */
+    private final Queue<OutboundGameMessage> deferred = new ArrayDeque<>();
+
+    /**
+     * The amount of pending outbound bytes this session last added to {@code PENDING_OUTBOUND_BYTES}.
+     */
+    private final AtomicLong reportedPendingBytes = new AtomicLong();
+
+    /**
+     * The amount of consecutive cycles that the channel has been unwritable for, only accessed by the game thread.
+     */
+    private int unwritableCycles;
+
+    /**
+     * If update messages were skipped while the channel was unwritable, and the surrounding area needs to be sent again in
+     * full once it becomes writable.
+     */
+    private volatile boolean updatesSkipped;
+
+    /**
+     * The bundle that written messages are currently added to, {@code null} if messages are written right away. Only
+     * accessed by the thread that began the bundle.
+     */
+    private GameMessageBundle bundle;
 
     /**
      * Creates a new {@link GameSession}.
@@ -71,51 +179,432 @@ public final class GameSession extends Session {
 
     @Override
     public void onDispose() {
+        // The inbound queue is only drained by the game thread, any remaining messages are released there on logout.
+        PENDING_OUTBOUND_BYTES.addAndGet(-reportedPendingBytes.getAndSet(0));
         player.getWorld().queueLogout(player);
-        inboundQueue.clear();
     }
 
     @Override
     public void handleUpstreamMessage(Object msg) {
         if (msg instanceof GameMessage) {
-            inboundQueue.offer((GameMessage) msg);
+            GameMessage inbound = (GameMessage) msg;
+            int opcode = inbound.getOpcode();
+            inboundMessages.incrementAndGet();
+            inboundBytes.addAndGet(inbound.getSize() + MessageStatistics.headerSize(inbound.getType()));
+
+            if (!tryAcquire(opcode)) {
+                drop(inbound);
+                return;
+            }
+
+            if (messageRepository.getLane(opcode) == MessageLane.ASYNC) {
+                handleAsync(inbound);
+                return;
+            }
+
+            QueuedMessage queued = prepare(inbound, LunaNetworkConstants.DECODE_ON_IO_THREAD);
+            if (queued == null || !inboundQueue.offer(queued)) {
+                if (queued != null) {
+                    queued.release();
+                }
+                recordDropped(opcode);
+            }
+        }
+    }
+
+    /**
+     * Handles {@code msg} outside of the inbound queue. The message is decoded on a worker thread in the order it was
+     * received, then handled on the game thread as a deferrable synchronization task, which only runs while the cycle has
+     * budget left. If the worker threads are backed up the message is dropped, since handling it any other way would put it
+     * ahead of earlier messages still waiting to be decoded.
+     *
+     * @param msg The message to handle.
+     */
+    private void handleAsync(GameMessage msg) {
+        GameService service = player.getService();
+        boolean accepted = service.execute(WorkPriority.PLUGIN, player, () -> {
+            QueuedMessage queued = prepare(msg, true);
+            if (queued == null) {
+                recordDropped(msg.getOpcode());
+            } else {
+                service.syncDeferrable(() -> handle(queued, getChannel().isActive()));
+            }
+        });
+        if (!accepted) {
+            drop(msg);
+        }
+    }
+
+    /**
+     * Prepares {@code msg} to be handled. If {@code decode} is set and the message is supported by its handler, the message
+     * is decoded right away and its payload is released. If traffic is being recorded, the payload is copied first.
+     *
+     * @param msg The message to prepare.
+     * @param decode If the message should be decoded right away.
+     * @return The message to handle, or {@code null} if decoding failed.
+     */
+    private QueuedMessage prepare(GameMessage msg, boolean decode) {
+        byte[] captured = null;
+        if (player.getContext().getRecorder().isEnabled()) {
+            ByteBuf payload = msg.getPayload().getBuffer();
+            captured = new byte[payload.readableBytes()];
+            payload.getBytes(payload.readerIndex(), captured);
+        }
+
+        InboundGameMessage inbound = messageRepository.getHandler(msg.getOpcode());
+        if (!decode || !(inbound instanceof DecodingInboundGameMessage)) {
+            return QueuedMessage.raw(msg, captured);
+        }
+
+        try {
+            Object command = ((DecodingInboundGameMessage<?>) inbound).decode(msg);
+            return QueuedMessage.decoded(msg.getOpcode(), command, captured);
+        } catch (Exception e) {
+            LOGGER.catching(e);
+            return null;
+        } finally {
+            msg.getPayload().release();
         }
     }
 
     /**
-     * Writes {@code msg} to the underlying channel; The channel is not flushed.
+     * Determines if another message with {@code opcode} fits within the budget for the current cycle, and if so counts it
+     * against that budget.
+     *
+     * @param opcode The opcode of the inbound message.
+     * @return {@code true} if the message can be accepted, {@code false} if it should be dropped.
+     */
+    private boolean tryAcquire(int opcode) {
+        int currentCycle = cycle;
+        if (currentCycle != countedCycle) {
+            Arrays.fill(opcodeCounts, 0);
+            messageCount = 0;
+            countedCycle = currentCycle;
+        }
+
+        if (messageCount >= LunaNetworkConstants.MESSAGE_LIMIT ||
+            opcodeCounts[opcode] >= messageRepository.getLimit(opcode)) {
+            return false;
+        }
+        opcodeCounts[opcode]++;
+        messageCount++;
+        return true;
+    }
+
+    /**
+     * Drops an inbound message, releasing its payload and recording it.
+     *
+     * @param msg The message to drop.
+     */
+    private void drop(GameMessage msg) {
+        msg.getPayload().release();
+        recordDropped(msg.getOpcode());
+    }
+
+    /**
+     * Records that an inbound message was dropped.
+     *
+     * @param opcode The opcode of the dropped message.
+     */
+    private void recordDropped(int opcode) {
+        messageRepository.recordDropped(opcode);
+        droppedMessages.incrementAndGet();
+    }
+
+    /**
+     * Writes {@code msg} to the underlying channel. If the channel is unwritable, the message may be dropped depending on
+     * its priority and the {@link SlowClientPolicy} in use. {@code DEFERRABLE} messages queued late in a cycle that is
+     * running over budget are deferred to the next cycle, along with any {@code DEFERRABLE} or {@code NORMAL} messages
+     * queued after them, so that for example an interface is never opened before its text is set. Only {@code CRITICAL}
+     * and {@code UPDATE} messages are written ahead of deferred ones. Once {@code DEFERRED_MESSAGE_LIMIT} messages are
+     * deferred, they are all written right away in the order they were queued.
      *
      * @param msg The message to queue.
      */
     public void queue(OutboundGameMessage msg) {
+        if (shouldDefer(msg.getPriority())) {
+            deferred.add(msg);
+            deferredMessages.incrementAndGet();
+            if (deferred.size() >= LunaNetworkConstants.DEFERRED_MESSAGE_LIMIT) {
+                flushDeferred();
+            }
+        } else if (canWrite(msg.getPriority())) {
+            write(player.getContext().getStatistics().encode(msg, player));
+        }
+    }
+
+    /**
+     * Determines if a message with {@code priority} should be deferred to the next cycle. Once a {@code DEFERRABLE} message
+     * is deferred, the {@code DEFERRABLE} and {@code NORMAL} messages queued after it are as well so they are not written
+     * out of order.
+     *
+     * @param priority The priority of the message.
+     * @return {@code true} if the message should be deferred.
+     */
+    private boolean shouldDefer(MessagePriority priority) {
+        if (priority == MessagePriority.NORMAL) {
+            return !deferred.isEmpty();
+        } else if (priority == MessagePriority.DEFERRABLE) {
+            long elapsed = System.nanoTime() - player.getService().getTickStart();
+            return !deferred.isEmpty() || elapsed > DEFER_THRESHOLD_NANOS;
+        }
+        return false;
+    }
+
+    /**
+     * Writes every deferred message, in the order they were queued.
+     */
+    private void flushDeferred() {
+        for (; ; ) {
+            OutboundGameMessage msg = deferred.poll();
+            if (msg == null) {
+                break;
+            }
+            if (canWrite(msg.getPriority())) {
+                write(player.getContext().getStatistics().encode(msg, player));
+            }
+        }
+    }
+
+    /**
+     * Writes an already encoded {@code msg} to the underlying channel, used for messages that are shared between
+     * sessions. If the message is not written its payload is released.
+     *
+     * @param msg The message to queue.
+     * @param priority The priority of the message.
+     */
+    public void queue(GameMessage msg, MessagePriority priority) {
+        if (canWrite(priority)) {
+            write(msg);
+        } else {
+            msg.getPayload().release();
+        }
+    }
+
+    /**
+     * Determines if a message with {@code priority} should be written, applying the {@link SlowClientPolicy} in use if the
+     * channel is unwritable.
+     *
+     * @param priority The priority of the message.
+     * @return {@code true} if the message should be written.
+     */
+    private boolean canWrite(MessagePriority priority) {
         Channel channel = getChannel();
+        if (!channel.isActive()) {
+            return false;
+        }
+
+        if (!channel.isWritable() && !LunaNetworkConstants.SLOW_CLIENT_POLICY.accept(priority)) {
+            if (priority == MessagePriority.UPDATE) {
+                updatesSkipped = true;
+            }
+            droppedOutboundMessages.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
 
+    /**
+     * Writes and flushes {@code msg} to the underlying channel.
+     *
+     * @param msg The message to write.
+     */
+    private void write(GameMessage msg) {
+        Channel channel = getChannel();
+
+        outboundMessages.incrementAndGet();
+        outboundBytes.addAndGet(msg.getSize() + MessageStatistics.headerSize(msg.getType()));
+        if (bundle != null) {
+            bundle.add(msg);
+        } else {
+            channel.writeAndFlush(msg, channel.voidPromise());
+        }
+    }
+
+    /**
+     * Begins a bundle. Every message queued until {@code endBundle()} is called will be encoded into a single buffer and
+     * sent with a single write. Must be called from the same thread as {@code endBundle()}, with nothing else queueing
+     * messages for this session in the meantime.
+     */
+    public void beginBundle() {
+        checkState(bundle == null, "bundle already started");
+        bundle = new GameMessageBundle();
+    }
+
+    /**
+     * Ends the current bundle, writing every message that was queued since {@code beginBundle()} was called.
+     */
+    public void endBundle() {
+        checkState(bundle != null, "no bundle started");
+
+        GameMessageBundle current = bundle;
+        bundle = null;
+
+        Channel channel = getChannel();
+        if (current.isEmpty()) {
+            return;
+        }
         if (channel.isActive()) {
-            channel.writeAndFlush(msg.toGameMessage(player), channel.voidPromise());
+            channel.writeAndFlush(current, channel.voidPromise());
+        } else {
+            current.release();
+        }
+    }
+
+    /**
+     * Applies the {@link SlowClientPolicy} in use to this session, and updates the global amount of pending outbound bytes.
+     * Called once every cycle from the game thread.
+     */
+    private void checkWritable() {
+        Channel channel = getChannel();
+        long pending = channel.isActive() ? getPendingBytes() : 0;
+        PENDING_OUTBOUND_BYTES.addAndGet(pending - reportedPendingBytes.getAndSet(pending));
+
+        if (channel.isWritable()) {
+            unwritableCycles = 0;
+            if (updatesSkipped) {
+                updatesSkipped = false;
+                player.resynchronize();
+            }
+        } else if (++unwritableCycles >= LunaNetworkConstants.SLOW_CLIENT_CYCLE_LIMIT &&
+                   LunaNetworkConstants.SLOW_CLIENT_POLICY == SlowClientPolicy.DISCONNECT && channel.isActive()) {
+            LOGGER.info("{} was disconnected for not keeping up with outbound traffic.", player);
+            channel.close();
         }
     }
 
     /**
-     * Dequeues the inbound queue, handling all logic accordingly.
+     * Writes every deferred message, then dequeues the inbound queue, handling all logic accordingly. Messages received
+     * after the channel has become inactive are released without being handled.
      */
     public void dequeue() {
+        checkWritable();
+        flushDeferred();
+
+        boolean active = getChannel().isActive();
+        try {
+            for (; ; ) {
+                QueuedMessage msg = inboundQueue.poll();
+                if (msg == null) {
+                    break;
+                }
+                handle(msg, active);
+            }
+        } finally {
+            cycle++;
+        }
+    }
+
+    /**
+     * Releases every message left in the inbound queue without handling it. Called from the game thread once the player
+     * has logged out, after which nothing else is queued.
+     */
+    public void releaseInbound() {
         for (; ; ) {
-            GameMessage msg = inboundQueue.poll();
+            QueuedMessage msg = inboundQueue.poll();
             if (msg == null) {
                 break;
             }
-            InboundGameMessage inbound = messageRepository.getHandler(msg.getOpcode());
-            try {
-                Event evt = inbound.readMessage(player, msg);
+            msg.release();
+        }
+    }
+
+    /**
+     * Handles and releases a single inbound message on the game thread. Nothing is handled if the channel has become
+     * inactive.
+     *
+     * @param msg The message to handle.
+     * @param active If the channel is still active.
+     */
+    private void handle(QueuedMessage msg, boolean active) {
+        try {
+            if (active) {
+                byte[] captured = msg.getCaptured();
+                if (captured != null) {
+                    player.getContext().getRecorder().recordMessage(player, msg.getOpcode(), captured);
+                }
+
+                InboundGameMessage inbound = messageRepository.getHandler(msg.getOpcode());
+                Event evt = msg.handle(player, inbound);
                 if (evt != null) {
-                    player.getPlugins().post(evt, player);
+                    try {
+                        player.getPlugins().post(evt, player);
+                    } finally {
+                        evt.clear();
+                    }
                 }
-            } catch (Exception e) {
-                LOGGER.catching(e);
             }
+        } catch (Exception e) {
+            LOGGER.catching(e);
+        } finally {
+            msg.release();
         }
     }
 
+    /**
+     * @return The total amount of inbound messages dropped for this session.
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * @return The total amount of inbound messages received by this session.
+     */
+    public long getInboundMessages() {
+        return inboundMessages.get();
+    }
+
+    /**
+     * @return The total amount of inbound bytes received by this session, including message headers.
+     */
+    public long getInboundBytes() {
+        return inboundBytes.get();
+    }
+
+    /**
+     * @return The total amount of outbound messages written for this session.
+     */
+    public long getOutboundMessages() {
+        return outboundMessages.get();
+    }
+
+    /**
+     * @return The total amount of outbound bytes written for this session, including message headers.
+     */
+    public long getOutboundBytes() {
+        return outboundBytes.get();
+    }
+
+    /**
+     * @return The total amount of outbound messages dropped for this session because its channel was unwritable.
+     */
+    public long getDroppedOutboundMessages() {
+        return droppedOutboundMessages.get();
+    }
+
+    /**
+     * @return The total amount of outbound messages deferred to the next cycle for this session.
+     */
+    public long getDeferredMessages() {
+        return deferredMessages.get();
+    }
+
+    /**
+     * @return The amount of bytes currently pending in the outbound buffer of this session.
+     */
+    public long getPendingBytes() {
+        ChannelOutboundBuffer buffer = getChannel().unsafe().outboundBuffer();
+        return buffer == null ? 0 : buffer.totalPendingWriteBytes();
+    }
+
+    /**
+     * @return The total amount of bytes pending in the outbound buffers of every session, as of their last cycle.
+     */
+    public static long getPendingOutboundBytes() {
+        return PENDING_OUTBOUND_BYTES.get();
+    }
+
     /**
      * @return The message encryptor.
      */
@@ -12,6 +12,7 @@ import io.luna.net.codec.login.LoginCredentialsMessage;
 import io.luna.net.codec.login.LoginResponse;
 import io.luna.net.codec.login.LoginResponseMessage;
 import io.luna.net.msg.MessageRepository;
+import io.luna.net.msg.MessageStatistics;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -94,9 +95,10 @@ public final class LoginSession extends Session {
             future.addListener(ChannelFutureListener.CLOSE);
         } else {
             future.addListener(it -> {
-                pipeline.replace("login-encoder", "game-encoder", new GameMessageEncoder(msg.getEncryptor()));
-                pipeline
-                    .replace("login-decoder", "game-decoder", new GameMessageDecoder(msg.getDecryptor(), messageRepository));
+                MessageStatistics statistics = context.getStatistics();
+                pipeline.replace("login-encoder", "game-encoder", new GameMessageEncoder(msg.getEncryptor(), statistics));
+                pipeline.replace("login-decoder", "game-decoder",
+                    new GameMessageDecoder(msg.getDecryptor(), messageRepository, statistics));
 
                 GameSession session = new GameSession(player, channel, msg.getEncryptor(), msg.getDecryptor(),
                     messageRepository);
@@ -0,0 +1,195 @@
+package io.luna.net.session;
+
+import io.luna.cache.Cache;
+import io.luna.cache.CacheFile;
+import io.luna.net.codec.ondemand.OnDemandRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * A {@link Session} implementation that serves cache files to the client through the on-demand protocol. Requests are
+ * queued by priority and served one file at a time, the next file only being written once the previous one has been
+ * written to the socket. File contents are transferred straight from the cache's data file with {@link CacheFileRegion}s,
+ * without being copied into buffers. All of this is done on the channel's event loop.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class OnDemandSession extends Session {
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(OnDemandSession.class);
+
+    /**
+     * The maximum amount of file data in a single response chunk.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * The size of the header before every response chunk.
+     */
+    private static final int CHUNK_HEADER_SIZE = 6;
+
+    /**
+     * The maximum size of a file that can be served, limited by the size of the length field.
+     */
+    private static final int MAXIMUM_FILE_SIZE = 0xFFFF;
+
+    /**
+     * The maximum amount of requests that can be queued at once.
+     */
+    private static final int MAXIMUM_QUEUED_REQUESTS = 4096;
+
+    /**
+     * The cache that files are served from.
+     */
+    private final Cache cache;
+
+    /**
+     * Requests for files the client needs right away.
+     */
+    private final Queue<OnDemandRequest> urgentRequests = new ArrayDeque<>();
+
+    /**
+     * Requests for files the client is preloading.
+     */
+    private final Queue<OnDemandRequest> backgroundRequests = new ArrayDeque<>();
+
+    /**
+     * If a file is currently being written.
+     */
+    private boolean serving;
+
+    /**
+     * Creates a new {@link OnDemandSession}.
+     *
+     * @param channel The channel for this session.
+     * @param cache The cache that files are served from.
+     */
+    public OnDemandSession(Channel channel, Cache cache) {
+        super(channel);
+        this.cache = cache;
+    }
+
+    @Override
+    public void handleUpstreamMessage(Object msg) throws Exception {
+        if (msg instanceof OnDemandRequest) {
+            OnDemandRequest request = (OnDemandRequest) msg;
+            if (urgentRequests.size() + backgroundRequests.size() >= MAXIMUM_QUEUED_REQUESTS) {
+                getChannel().close();
+                return;
+            }
+
+            if (request.isUrgent()) {
+                urgentRequests.add(request);
+            } else {
+                backgroundRequests.add(request);
+            }
+            if (!serving) {
+                serveNext();
+            }
+        }
+    }
+
+    @Override
+    public void onDispose() {
+        urgentRequests.clear();
+        backgroundRequests.clear();
+    }
+
+    /**
+     * Serves the most important queued request, if any.
+     */
+    private void serveNext() {
+        Channel channel = getChannel();
+        for (; ; ) {
+            OnDemandRequest request = urgentRequests.poll();
+            if (request == null) {
+                request = backgroundRequests.poll();
+            }
+            if (request == null || !channel.isActive()) {
+                serving = false;
+                return;
+            }
+
+            CacheFile file = locate(request);
+            if (file == null) {
+                continue;
+            }
+
+            serving = true;
+            serve(request, file).addListener(it -> {
+                if (it.isSuccess()) {
+                    serveNext();
+                }
+            });
+            channel.flush();
+            return;
+        }
+    }
+
+    /**
+     * Locates the file for {@code request}.
+     *
+     * @param request The request.
+     * @return The file, or {@code null} if it can not be served.
+     */
+    private CacheFile locate(OnDemandRequest request) {
+        int index = request.getIndex();
+        if (index >= Cache.INDEX_COUNT) {
+            LOGGER.debug("Invalid on-demand request [type={}].", request.getType());
+            return null;
+        }
+
+        try {
+            CacheFile file = cache.locate(index, request.getFile());
+            if (file.getSize() > MAXIMUM_FILE_SIZE) {
+                LOGGER.debug("On-demand file too large [index={}, file={}].", index, request.getFile());
+                return null;
+            }
+            return file;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to locate on-demand file.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes {@code file} in chunks, each one made up of a header followed by regions of the data file. The channel is not
+     * flushed.
+     *
+     * @param request The request being served.
+     * @param file The file to write.
+     * @return The future of the last write.
+     */
+    private ChannelFuture serve(OnDemandRequest request, CacheFile file) {
+        Channel channel = getChannel();
+        int size = file.getSize();
+
+        ChannelFuture last = null;
+        for (int chunk = 0, offset = 0; offset < size; chunk++) {
+            ByteBuf header = channel.alloc().buffer(CHUNK_HEADER_SIZE);
+            header.writeByte(request.getType());
+            header.writeShort(request.getFile());
+            header.writeShort(size);
+            header.writeByte(chunk);
+            channel.write(header, channel.voidPromise());
+
+            int end = Math.min(size, offset + CHUNK_SIZE);
+            while (offset < end) {
+                int length = Math.min(end - offset, file.contiguousLength(offset));
+                last = channel.write(new CacheFileRegion(cache.getDataChannel(), file.positionOf(offset), length));
+                offset += length;
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,114 @@
+package io.luna.net.session;
+
+import io.luna.game.event.Event;
+import io.luna.game.model.mobile.Player;
+import io.luna.net.msg.DecodingInboundGameMessage;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.InboundGameMessage;
+
+/**
+ * An inbound message waiting in a {@link GameSession} to be handled on the game thread. It either holds the raw {@link
+ * GameMessage}, or the command it was already decoded into on the networking thread.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class QueuedMessage {
+
+    /**
+     * The opcode of the message.
+     */
+    private final int opcode;
+
+    /**
+     * The raw message, {@code null} if it has already been decoded.
+     */
+    private final GameMessage msg;
+
+    /**
+     * The decoded command, {@code null} if the message has not been decoded.
+     */
+    private final Object command;
+
+    /**
+     * A copy of the payload for the {@link io.luna.net.msg.TrafficRecorder}, {@code null} if traffic is not being
+     * recorded.
+     */
+    private final byte[] captured;
+
+    /**
+     * Creates a new {@link QueuedMessage}.
+     *
+     * @param opcode The opcode of the message.
+     * @param msg The raw message, {@code null} if it has already been decoded.
+     * @param command The decoded command, {@code null} if the message has not been decoded.
+     * @param captured A copy of the payload, {@code null} if traffic is not being recorded.
+     */
+    private QueuedMessage(int opcode, GameMessage msg, Object command, byte[] captured) {
+        this.opcode = opcode;
+        this.msg = msg;
+        this.command = command;
+        this.captured = captured;
+    }
+
+    /**
+     * Creates a {@link QueuedMessage} that will be read entirely on the game thread.
+     *
+     * @param msg The raw message.
+     * @param captured A copy of the payload, {@code null} if traffic is not being recorded.
+     * @return The queued message.
+     */
+    static QueuedMessage raw(GameMessage msg, byte[] captured) {
+        return new QueuedMessage(msg.getOpcode(), msg, null, captured);
+    }
+
+    /**
+     * Creates a {@link QueuedMessage} that has already been decoded on the networking thread.
+     *
+     * @param opcode The opcode of the message.
+     * @param command The decoded command.
+     * @param captured A copy of the payload, {@code null} if traffic is not being recorded.
+     * @return The queued message.
+     */
+    static QueuedMessage decoded(int opcode, Object command, byte[] captured) {
+        return new QueuedMessage(opcode, null, command, captured);
+    }
+
+    /**
+     * Handles this message on the game thread.
+     *
+     * @param player The player.
+     * @param handler The handler assigned to this message's opcode.
+     * @return The {@link Event} that will be forwarded to a plugin, possibly {@code null}.
+     * @throws Exception If any exceptions are thrown while handling.
+     */
+    @SuppressWarnings("unchecked")
+    Event handle(Player player, InboundGameMessage handler) throws Exception {
+        if (msg == null) {
+            return ((DecodingInboundGameMessage<Object>) handler).handle(player, command);
+        }
+        return handler.readMessage(player, msg);
+    }
+
+    /**
+     * Releases the payload of the raw message, if this message has not been decoded.
+     */
+    void release() {
+        if (msg != null) {
+            msg.getPayload().release();
+        }
+    }
+
+    /**
+     * @return The opcode of the message.
+     */
+    int getOpcode() {
+        return opcode;
+    }
+
+    /**
+     * @return A copy of the payload, {@code null} if traffic is not being recorded.
+     */
+    byte[] getCaptured() {
+        return captured;
+    }
+}
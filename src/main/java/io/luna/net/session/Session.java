@@ -4,6 +4,7 @@ import io.luna.game.model.mobile.Player;
 import io.netty.channel.Channel;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 
 import static com.google.common.base.Preconditions.checkState;
 
@@ -24,6 +25,11 @@ public class Session {
      */
     private final String hostAddress;
 
+    /**
+     * The value of {@code System.nanoTime()} when data was last read from the {@link Channel}.
+     */
+    private volatile long lastRead = System.nanoTime();
+
     /**
      * Creates a new {@link Session}.
      *
@@ -31,7 +37,9 @@ public class Session {
      */
     public Session(Channel channel) {
         this.channel = channel;
-        this.hostAddress = ((InetSocketAddress) channel.remoteAddress()).getAddress().getHostAddress();
+        SocketAddress address = channel.remoteAddress();
+        this.hostAddress = address instanceof InetSocketAddress ?
+            ((InetSocketAddress) address).getAddress().getHostAddress() : String.valueOf(address);
     }
 
     /**
@@ -60,6 +68,20 @@ public class Session {
     public void handleUpstreamMessage(Object msg) throws Exception {
     }
 
+    /**
+     * Records that data was just read from the {@link Channel}.
+     */
+    public final void markRead() {
+        lastRead = System.nanoTime();
+    }
+
+    /**
+     * @return The value of {@code System.nanoTime()} when data was last read from the {@link Channel}.
+     */
+    public final long getLastRead() {
+        return lastRead;
+    }
+
     /**
      * @return The {@link Channel} to send and receive messages through.
      */
@@ -0,0 +1,52 @@
+package io.luna.net.session;
+
+import io.luna.net.msg.MessagePriority;
+
+/**
+ * An enumerated type whose elements represent the policies that can be applied to a {@link GameSession} whose channel is
+ * no longer writable, meaning its outbound buffer has grown past the high water mark.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public enum SlowClientPolicy {
+
+    /**
+     * Drops {@code NORMAL} and {@code DEFERRABLE} messages until the channel is writable again.
+     */
+    DROP {
+        @Override
+        public boolean accept(MessagePriority priority) {
+            return priority == MessagePriority.CRITICAL || priority == MessagePriority.UPDATE;
+        }
+    },
+
+    /**
+     * Drops {@code NORMAL} and {@code DEFERRABLE} messages and skips update messages until the channel is writable again.
+     * The surrounding area is then sent again in full: the player is placed on their current position without stopping
+     * their movement, and every local player and npc is added again.
+     */
+    COALESCE {
+        @Override
+        public boolean accept(MessagePriority priority) {
+            return priority == MessagePriority.CRITICAL;
+        }
+    },
+
+    /**
+     * Keeps writing every message, and disconnects the session if the channel stays unwritable for too many cycles.
+     */
+    DISCONNECT {
+        @Override
+        public boolean accept(MessagePriority priority) {
+            return true;
+        }
+    };
+
+    /**
+     * Determines if a message with {@code priority} should still be written to an unwritable channel.
+     *
+     * @param priority The priority of the message.
+     * @return {@code true} if the message should be written, {@code false} if it should be dropped.
+     */
+    public abstract boolean accept(MessagePriority priority);
+}
@@ -0,0 +1,112 @@
+package io.luna.net.session;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A bounded, lock-free ring buffer that is safe to use with exactly one producer thread and exactly one consumer thread. The
+ * producer and consumer each cache the other's index so that the shared indexes are only read when the buffer appears to be
+ * full or empty.
+ *
+ * @param <E> The type of elements held in this buffer.
+ * @author lare96 <http://github.org/lare96>
+ */
+final class SpscRingBuffer<E> {
+
+    /**
+     * The backing array of elements.
+     */
+    private final Object[] elements;
+
+    /**
+     * The mask used to wrap indexes around the backing array.
+     */
+    private final int mask;
+
+    /**
+     * The index of the next element to be polled, only written by the consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The index of the next element to be offered, only written by the producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The last value of {@code head} observed by the producer.
+     */
+    private long cachedHead;
+
+    /**
+     * The last value of {@code tail} observed by the consumer.
+     */
+    private long cachedTail;
+
+    /**
+     * Creates a new {@link SpscRingBuffer}.
+     *
+     * @param capacity The capacity of this buffer, must be a power of two.
+     */
+    SpscRingBuffer(int capacity) {
+        checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1, "capacity must be a power of two");
+
+        elements = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds {@code element} to the tail of this buffer. Must only be called from the producer thread.
+     *
+     * @param element The element to add.
+     * @return {@code true} if the element was added, {@code false} if this buffer is full.
+     */
+    boolean offer(E element) {
+        long currentTail = tail.get();
+        if (currentTail - cachedHead >= elements.length) {
+            cachedHead = head.get();
+            if (currentTail - cachedHead >= elements.length) {
+                return false;
+            }
+        }
+        elements[(int) currentTail & mask] = element;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes the element at the head of this buffer. Must only be called from the consumer thread.
+     *
+     * @return The removed element, or {@code null} if this buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long currentHead = head.get();
+        if (currentHead >= cachedTail) {
+            cachedTail = tail.get();
+            if (currentHead >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) currentHead & mask;
+        E element = (E) elements[index];
+        elements[index] = null;
+        head.lazySet(currentHead + 1);
+        return element;
+    }
+
+    /**
+     * @return The amount of elements currently in this buffer, may be stale when called outside of the consumer thread.
+     */
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * @return The capacity of this buffer.
+     */
+    int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,133 @@
+package io.luna.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A lock-free histogram of sampled durations, such as the time taken to encode a message or run a listener. Samples are
+ * placed in power-of-two buckets, bucket {@code n} holding samples of {@code 2^(n - 1)} up to {@code 2^n} nanoseconds.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TimeHistogram {
+
+    /**
+     * The amount of buckets, enough to hold any sample below one second in its own bucket.
+     */
+    private static final int BUCKETS = 32;
+
+    /**
+     * The amount of samples in each bucket.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * The total amount of samples.
+     */
+    private final AtomicLong samples;
+
+    /**
+     * The sum of all samples, in nanoseconds.
+     */
+    private final AtomicLong totalNanos;
+
+    /**
+     * The largest sample, in nanoseconds.
+     */
+    private final AtomicLong maxNanos;
+
+    /**
+     * Creates a new, empty {@link TimeHistogram}.
+     */
+    public TimeHistogram() {
+        buckets = new AtomicLongArray(BUCKETS);
+        samples = new AtomicLong();
+        totalNanos = new AtomicLong();
+        maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Creates a new {@link TimeHistogram} that is a copy of {@code other}.
+     *
+     * @param other The histogram to copy.
+     */
+    private TimeHistogram(TimeHistogram other) {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = other.buckets.get(i);
+        }
+        buckets = new AtomicLongArray(copy);
+        samples = new AtomicLong(other.samples.get());
+        totalNanos = new AtomicLong(other.totalNanos.get());
+        maxNanos = new AtomicLong(other.maxNanos.get());
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param nanos The time taken, in nanoseconds.
+     */
+    public void record(long nanos) {
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+        buckets.incrementAndGet(bucket);
+        samples.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * @return A copy of this histogram that will not change.
+     */
+    public TimeHistogram copy() {
+        return new TimeHistogram(this);
+    }
+
+    /**
+     * Returns an upper bound of the time taken by {@code percentile} percent of samples.
+     *
+     * @param percentile The percentile, between {@code 0} and {@code 100}.
+     * @return The upper bound of the bucket containing the percentile, in nanoseconds.
+     */
+    public long getPercentileNanos(double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+        long total = samples.get();
+        long threshold = (long) Math.ceil(total * (percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold && seen > 0) {
+                return Math.min(1L << i, maxNanos.get());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The mean of all samples, in nanoseconds.
+     */
+    public long getMeanNanos() {
+        long total = samples.get();
+        return total == 0 ? 0 : totalNanos.get() / total;
+    }
+
+    /**
+     * @return The largest sample, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return The total amount of samples.
+     */
+    public long getSamples() {
+        return samples.get();
+    }
+}
@@ -1,6 +1,8 @@
 package io.luna.util.parser.impl;
 
 import com.google.gson.JsonObject;
+import io.luna.net.LunaNetworkConstants;
+import io.luna.net.msg.MessageLane;
 import io.luna.net.msg.MessageRepository;
 import io.luna.util.parser.TomlParser;
 import io.luna.util.parser.impl.MessageRepositoryParser.MessageRepositoryElement;
@@ -31,14 +33,16 @@ public final class MessageRepositoryParser extends TomlParser<MessageRepositoryE
 
     @Override
     public MessageRepositoryElement readObject(JsonObject reader) throws Exception {
-        return new MessageRepositoryElement(reader.get("opcode").getAsInt(), reader.get("size").getAsInt(),
+        int limit = reader.has("limit") ? reader.get("limit").getAsInt() : LunaNetworkConstants.MESSAGE_LIMIT;
+        MessageLane lane = reader.has("lane") ? MessageLane.valueOf(reader.get("lane").getAsString()) : MessageLane.TICK;
+        return new MessageRepositoryElement(reader.get("opcode").getAsInt(), reader.get("size").getAsInt(), limit, lane,
             reader.get("payload").getAsString());
     }
 
     @Override
     public void onReadComplete(List<MessageRepositoryElement> readObjects) throws Exception {
         for (MessageRepositoryElement it : readObjects) {
-            messageRepository.addHandler(it.opcode, it.size, it.payload);
+            messageRepository.addHandler(it.opcode, it.size, it.limit, it.lane, it.payload);
         }
     }
 
@@ -62,6 +66,16 @@ public final class MessageRepositoryParser extends TomlParser<MessageRepositoryE
          */
         private final int size;
 
+        /**
+         * The limit per cycle.
+         */
+        private final int limit;
+
+        /**
+         * The lane.
+         */
+        private final MessageLane lane;
+
         /**
          * The payload.
          */
@@ -72,11 +86,15 @@ public final class MessageRepositoryParser extends TomlParser<MessageRepositoryE
          *
          * @param opcode The opcode.
          * @param size The size.
+         * @param limit The limit per cycle.
+         * @param lane The lane.
          * @param payload The payload.
          */
-        private MessageRepositoryElement(int opcode, int size, String payload) {
+        private MessageRepositoryElement(int opcode, int size, int limit, MessageLane lane, String payload) {
             this.opcode = opcode;
             this.size = size;
+            this.limit = limit;
+            this.lane = lane;
             this.payload = payload;
         }
     }
@@ -0,0 +1,148 @@
+package io.luna;
+
+import io.luna.bot.Bot;
+import io.luna.bot.BotStatistics;
+import io.luna.game.GameService;
+import io.luna.net.LunaNetworkConstants;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a {@link Server} and puts load on it with {@link Bot}s connected from this JVM, then reports the cycle duration,
+ * the bytes sent to each player per cycle, and login latency. Run with the {@code load-test} profile.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class BotHarness {
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(BotHarness.class);
+
+    /**
+     * The amount of bots connected at once while ramping up.
+     */
+    private static final int CONNECT_BATCH = 25;
+
+    /**
+     * The amount of {@code MILLISECONDS} in between each batch of connections.
+     */
+    private static final long CONNECT_INTERVAL_MILLIS = 50;
+
+    /**
+     * The amount of {@code MILLISECONDS} in between checking for completed cycles.
+     */
+    private static final long SAMPLE_MILLIS = 10;
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private BotHarness() {
+    }
+
+    /**
+     * Invoked when the load test is started.
+     *
+     * @param args The amount of bots, followed by the amount of {@code SECONDS} to run for.
+     */
+    public static void main(String[] args) {
+        try {
+            int bots = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+            int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+
+            Thread.currentThread().setName("LunaInitializationThread");
+
+            Server server = new Server();
+            server.init();
+            run(server.getContext().getService(), bots, seconds);
+        } catch (Exception e) {
+            LOGGER.catching(Level.FATAL, e);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Connects {@code bots} bots and samples every completed cycle until {@code seconds} have elapsed. The bots are left
+     * connected when the application exits, so they are never logged out and saved.
+     *
+     * @param service The game service of the server.
+     * @param bots The amount of bots.
+     * @param seconds The amount of {@code SECONDS} to run for.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private static void run(GameService service, int bots, int seconds) throws InterruptedException {
+        BotStatistics statistics = new BotStatistics();
+        EventLoopGroup group = new NioEventLoopGroup();
+
+        Bootstrap bootstrap = new Bootstrap();
+        bootstrap.group(group);
+        bootstrap.channel(NioSocketChannel.class);
+        bootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        bootstrap.option(ChannelOption.TCP_NODELAY, true);
+
+        LOGGER.info("Connecting {} bots for {} seconds...", bots, seconds);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long[] tickNanos = new long[(int) (TimeUnit.SECONDS.toMillis(seconds) / GameService.TICK_MILLIS) + 1];
+        int ticks = 0;
+        long playerTicks = 0;
+        long lastTick = service.getTickCount();
+        long nextConnect = 0;
+
+        int connected = 0;
+        while (System.nanoTime() < deadline) {
+            if (connected < bots && System.nanoTime() >= nextConnect) {
+                for (int i = 0; i < CONNECT_BATCH && connected < bots; i++, connected++) {
+                    String username = "bot" + connected;
+                    bootstrap.handler(new Bot(statistics, username));
+                    bootstrap.connect("127.0.0.1", LunaNetworkConstants.PORT);
+                }
+                nextConnect = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_INTERVAL_MILLIS);
+            }
+
+            long tick = service.getTickCount();
+            if (tick != lastTick) {
+                lastTick = tick;
+                if (ticks < tickNanos.length) {
+                    tickNanos[ticks++] = service.getLastTickNanos();
+                }
+                playerTicks += statistics.getOnline();
+            }
+            Thread.sleep(SAMPLE_MILLIS);
+        }
+
+        report(statistics, Arrays.copyOf(tickNanos, ticks), playerTicks);
+    }
+
+    /**
+     * Prints the results of the load test.
+     *
+     * @param statistics The statistics of the bots.
+     * @param tickNanos The duration of every sampled cycle.
+     * @param playerTicks The sum of the amount of bots online during every sampled cycle.
+     */
+    private static void report(BotStatistics statistics, long[] tickNanos, long playerTicks) {
+        Arrays.sort(tickNanos);
+        long[] loginNanos = statistics.sortedLoginNanos();
+
+        LOGGER.info("Logins: {} succeeded, {} failed, {} disconnected.", statistics.getLogins(),
+            statistics.getFailedLogins(), statistics.getDisconnects());
+        LOGGER.info("Cycles: {} sampled, {}.", tickNanos.length, Percentiles.describe(tickNanos));
+        LOGGER.info("Login latency: {}.", Percentiles.describe(loginNanos));
+        if (playerTicks > 0) {
+            LOGGER.info("Bytes per player per cycle: {} received, {} sent.", statistics.getBytesReceived() / playerTicks,
+                statistics.getBytesSent() / playerTicks);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.luna;
+
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.PlayerCredentials;
+import io.luna.net.codec.IsaacCipher;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.MessageRepository;
+import io.luna.net.msg.out.SendChatboxInterfaceMessage;
+import io.luna.net.msg.out.SendLogoutMessage;
+import io.luna.net.msg.out.SendWidgetTextMessage;
+import io.luna.net.session.GameSession;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test that ensures that a {@link GameSession} keeps outbound messages in order when some are deferred. It is in the
+ * {@code io.luna} package so that it can create a {@link LunaContext}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class GameSessionTest {
+
+    /**
+     * Test that an interface opened after its text was deferred is deferred as well, while critical messages are not.
+     */
+    @Test
+    public void testDeferredOrder() {
+        // The message repository can only be created during initialization.
+        Thread.currentThread().setName("LunaInitializationThread");
+        EmbeddedChannel channel = new EmbeddedChannel();
+        Player player = new Player(new LunaContext(), new PlayerCredentials("test", "test"));
+        IsaacCipher isaac = new IsaacCipher(new int[4]);
+        GameSession session = new GameSession(player, channel, isaac, isaac, new MessageRepository());
+        player.setSession(session);
+
+        // No cycle has started, so the cycle is always over budget and the widget text is deferred.
+        player.queue(new SendWidgetTextMessage("Congratulations!", 6248));
+        player.queue(new SendChatboxInterfaceMessage(6247));
+        player.queue(new SendLogoutMessage());
+        assertEquals(readOpcodes(channel), Arrays.asList(109));
+
+        session.dequeue();
+        assertEquals(readOpcodes(channel), Arrays.asList(126, 164));
+    }
+
+    /**
+     * Reads and releases every message written to {@code channel}.
+     *
+     * @param channel The channel.
+     * @return The opcodes of the messages, in the order they were written.
+     */
+    private static List<Integer> readOpcodes(EmbeddedChannel channel) {
+        List<Integer> opcodes = new ArrayList<>();
+        for (GameMessage msg; (msg = (GameMessage) channel.readOutbound()) != null; ) {
+            opcodes.add(msg.getOpcode());
+            msg.getPayload().release();
+        }
+        return opcodes;
+    }
+}
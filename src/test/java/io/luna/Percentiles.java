@@ -0,0 +1,49 @@
+package io.luna;
+
+/**
+ * Formats durations recorded by the load-testing harnesses.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class Percentiles {
+
+    /**
+     * The percentiles that are reported.
+     */
+    private static final double[] PERCENTILES = { 0.5, 0.9, 0.99 };
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private Percentiles() {
+    }
+
+    /**
+     * Describes the percentiles and maximum of sorted durations.
+     *
+     * @param sorted The durations in nanoseconds, in ascending order.
+     * @return The description.
+     */
+    static String describe(long[] sorted) {
+        if (sorted.length == 0) {
+            return "no samples";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            sb.append("p").append((int) (percentile * 100)).append("=").append(toMillis(sorted[index])).append("ms, ");
+        }
+        return sb.append("max=").append(toMillis(sorted[sorted.length - 1])).append("ms").toString();
+    }
+
+    /**
+     * Converts {@code nanos} into fractional milliseconds.
+     *
+     * @param nanos The nanoseconds.
+     * @return The milliseconds, to two decimal places.
+     */
+    static String toMillis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,280 @@
+package io.luna;
+
+import com.sun.management.ThreadMXBean;
+import io.luna.game.model.Position;
+import io.luna.game.model.World;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.PlayerCredentials;
+import io.luna.game.plugin.PluginBootstrap;
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.IsaacCipher;
+import io.luna.net.codec.MessageType;
+import io.luna.net.codec.game.GameMessageEncoder;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.MessageRepository;
+import io.luna.net.msg.TrafficReader;
+import io.luna.net.session.GameSession;
+import io.luna.util.parser.impl.ItemDefinitionParser;
+import io.luna.util.parser.impl.MessageRepositoryParser;
+import io.luna.util.parser.impl.NpcCombatDefinitionParser;
+import io.luna.util.parser.impl.NpcDefinitionParser;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a log written by the {@link io.luna.net.msg.TrafficRecorder} against a headless {@link World}, then reports the
+ * cycle duration and allocation rate. Players are given {@link EmbeddedChannel}s instead of sockets, and everything written
+ * to them is encoded and discarded. Players are saved to a temporary directory, so replaying a capture never overwrites
+ * real accounts. Run with the {@code replay} profile.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ReplayHarness implements TrafficReader.Visitor {
+
+    /**
+     * The logger that will print important information.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(ReplayHarness.class);
+
+    /**
+     * The password every replayed player is given.
+     */
+    private static final String PASSWORD = "replay";
+
+    /**
+     * Used to measure the amount of bytes allocated by every thread.
+     */
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * The context of the headless world.
+     */
+    private final LunaContext context;
+
+    /**
+     * The repository containing data for incoming messages.
+     */
+    private final MessageRepository messageRepository;
+
+    /**
+     * The replayed players, by their recorded index.
+     */
+    private final Map<Integer, Player> players = new HashMap<>();
+
+    /**
+     * The players logging in during the current cycle.
+     */
+    private final List<Player> logins = new ArrayList<>();
+
+    /**
+     * The inbound messages handled during the current cycle, by the player they were sent by.
+     */
+    private final List<Map.Entry<Player, GameMessage>> messages = new ArrayList<>();
+
+    /**
+     * The recorded indexes of the players logging out during the current cycle.
+     */
+    private final List<Integer> logouts = new ArrayList<>();
+
+    /**
+     * The duration of every replayed cycle.
+     */
+    private long[] tickNanos = new long[1024];
+
+    /**
+     * The amount of bytes allocated during every replayed cycle.
+     */
+    private long[] tickAllocations = new long[1024];
+
+    /**
+     * The amount of cycles replayed.
+     */
+    private int ticks;
+
+    /**
+     * If a {@code TICK} record has been read, and there is a cycle to finish.
+     */
+    private boolean started;
+
+    /**
+     * Creates a new {@link ReplayHarness}.
+     *
+     * @param context The context of the headless world.
+     * @param messageRepository The repository containing data for incoming messages.
+     */
+    private ReplayHarness(LunaContext context, MessageRepository messageRepository) {
+        this.context = context;
+        this.messageRepository = messageRepository;
+    }
+
+    /**
+     * Invoked when the replay is started.
+     *
+     * @param args The path of the log to replay.
+     */
+    public static void main(String[] args) {
+        try {
+            Thread.currentThread().setName("LunaInitializationThread");
+
+            LunaContext context = new LunaContext(Files.createTempDirectory("luna-replay"));
+            MessageRepository messageRepository = new MessageRepository();
+            try {
+                new PluginBootstrap(context).run();
+            } catch (Exception e) {
+                // The server keeps running without plugins as well.
+                LOGGER.catching(e);
+            }
+            new ItemDefinitionParser().run();
+            new NpcDefinitionParser().run();
+            new NpcCombatDefinitionParser().run();
+            new MessageRepositoryParser(messageRepository).run();
+
+            Path log = Paths.get(args[0]);
+            LOGGER.info("Replaying {}...", log);
+
+            ReplayHarness harness = new ReplayHarness(context, messageRepository);
+            TrafficReader.read(log, harness);
+            harness.finishTick();
+            harness.report();
+        } catch (Exception e) {
+            LOGGER.catching(Level.FATAL, e);
+        }
+        System.exit(0);
+    }
+
+    @Override
+    public void onTick(long tick) {
+        finishTick();
+        started = true;
+    }
+
+    @Override
+    public void onLogin(int index, String username, Position position) {
+        Player player = new Player(context, new PlayerCredentials(username, PASSWORD));
+        player.setPosition(position);
+
+        IsaacCipher isaac = new IsaacCipher(new int[4]);
+        EmbeddedChannel channel = new EmbeddedChannel(new GameMessageEncoder(isaac, context.getStatistics()));
+        player.setSession(new GameSession(player, channel, isaac, isaac, messageRepository));
+
+        players.put(index, player);
+        logins.add(player);
+    }
+
+    @Override
+    public void onMessage(int index, int opcode, byte[] payload) {
+        Player player = players.get(index);
+        if (player != null) {
+            int size = messageRepository.getSize(opcode);
+            MessageType type = size == -1 ? MessageType.VARIABLE :
+                               size == -2 ? MessageType.VARIABLE_SHORT : MessageType.FIXED;
+            ByteMessage buf = ByteMessage.wrap(Unpooled.wrappedBuffer(payload));
+            messages.add(new SimpleImmutableEntry<>(player, new GameMessage(opcode, type, buf)));
+        }
+    }
+
+    @Override
+    public void onLogout(int index) {
+        logouts.add(index);
+    }
+
+    /**
+     * Replays the current cycle in the same order as the {@link io.luna.game.GameService}: logins, then the game loop, then
+     * logouts. Inbound messages are handed to their sessions beforehand, as the networking threads would have done.
+     */
+    private void finishTick() {
+        if (!started) {
+            return;
+        }
+
+        for (Map.Entry<Player, GameMessage> entry : messages) {
+            entry.getKey().getSession().handleUpstreamMessage(entry.getValue());
+        }
+        messages.clear();
+
+        World world = context.getWorld();
+        long allocatedStart = allocatedBytes();
+        long start = System.nanoTime();
+        context.getService().startTick();
+
+        // Messages on the asynchronous lane are handled through deferrable synchronization tasks.
+        context.getService().runSyncTasks();
+        context.getService().runCompletions();
+        context.getService().runDeferrableTasks();
+        logins.forEach(world.getPlayers()::add);
+        world.runGameLoop();
+        List<Player> removed = new ArrayList<>(logouts.size());
+        for (int index : logouts) {
+            Player player = players.remove(index);
+            if (player != null) {
+                world.getPlayers().remove(player);
+                removed.add(player);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedStart;
+        logins.clear();
+        logouts.clear();
+
+        players.values().forEach(ReplayHarness::discardOutbound);
+        removed.forEach(ReplayHarness::discardOutbound);
+        removed.forEach(it -> it.getSession().getChannel().close());
+
+        if (ticks == tickNanos.length) {
+            tickNanos = Arrays.copyOf(tickNanos, ticks * 2);
+            tickAllocations = Arrays.copyOf(tickAllocations, ticks * 2);
+        }
+        tickNanos[ticks] = elapsed;
+        tickAllocations[ticks] = allocated;
+        ticks++;
+    }
+
+    /**
+     * Prints the results of the replay.
+     */
+    private void report() {
+        long[] sortedNanos = Arrays.copyOf(tickNanos, ticks);
+        Arrays.sort(sortedNanos);
+        long allocated = Arrays.stream(tickAllocations, 0, ticks).sum();
+
+        LOGGER.info("Cycles: {} replayed, {}.", ticks, Percentiles.describe(sortedNanos));
+        if (ticks > 0) {
+            LOGGER.info("Allocated: {} KiB per cycle, {} MiB in total.", allocated / ticks / 1024, allocated / 1024 / 1024);
+        }
+    }
+
+    /**
+     * Releases everything written to the channel of {@code player}.
+     *
+     * @param player The player.
+     */
+    private static void discardOutbound(Player player) {
+        EmbeddedChannel channel = (EmbeddedChannel) player.getSession().getChannel();
+        for (Object msg; (msg = channel.readOutbound()) != null; ) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    /**
+     * @return The total amount of bytes allocated by every live thread.
+     */
+    private static long allocatedBytes() {
+        return Arrays.stream(THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())).filter(it -> it > 0).sum();
+    }
+}
@@ -0,0 +1,307 @@
+package io.luna.bot;
+
+import io.luna.game.model.EntityConstants;
+import io.luna.game.model.Position;
+import io.luna.net.LunaNetworkConstants;
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.ByteOrder;
+import io.luna.net.codec.ByteTransform;
+import io.luna.net.codec.IsaacCipher;
+import io.luna.util.StringUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A headless {@code #317} client that logs in through the full login protocol, and then walks, chats, and sends commands
+ * like a real player would. Everything the server sends after login is counted and discarded.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class Bot extends ByteToMessageDecoder {
+
+    /**
+     * The public RSA exponent paired with {@code RSA_EXPONENT}.
+     */
+    private static final BigInteger RSA_PUBLIC_EXPONENT = BigInteger.valueOf(65537);
+
+    /**
+     * The password every bot logs in with.
+     */
+    private static final String PASSWORD = "bot";
+
+    /**
+     * The size of the handshake response.
+     */
+    private static final int HANDSHAKE_RESPONSE_SIZE = 17;
+
+    /**
+     * The size of the login response.
+     */
+    private static final int LOGIN_RESPONSE_SIZE = 3;
+
+    /**
+     * The login response code for a successful login.
+     */
+    private static final int LOGIN_NORMAL = 2;
+
+    /**
+     * The amount of {@code MILLISECONDS} in between each action.
+     */
+    private static final long ACTION_MILLIS = 600;
+
+    /**
+     * The farthest a bot will walk away from the starting position, on each axis.
+     */
+    private static final int WALK_RADIUS = 8;
+
+    /**
+     * The text bots chat with. The server treats chat as opaque packed text, so this does not need to be valid.
+     */
+    private static final byte[] CHAT = { 0x31, 0x42, 0x14, 0x4a, 0x37, 0x10 };
+
+    /**
+     * The opcode of the idle message.
+     */
+    private static final int IDLE_OPCODE = 0;
+
+    /**
+     * The opcode of the chat message.
+     */
+    private static final int CHAT_OPCODE = 4;
+
+    /**
+     * The opcode of the command message.
+     */
+    private static final int COMMAND_OPCODE = 103;
+
+    /**
+     * The opcode of the walking message.
+     */
+    private static final int WALKING_OPCODE = 164;
+
+    /**
+     * The statistics this bot reports to.
+     */
+    private final BotStatistics statistics;
+
+    /**
+     * The username of this bot.
+     */
+    private final String username;
+
+    /**
+     * The value of {@code System.nanoTime()} when this bot started connecting.
+     */
+    private final long connectStart = System.nanoTime();
+
+    /**
+     * The current state of this bot.
+     */
+    private State state = State.HANDSHAKE;
+
+    /**
+     * The cipher that encrypts outgoing opcodes.
+     */
+    private IsaacCipher encryptor;
+
+    /**
+     * The task that performs this bot's actions.
+     */
+    private ScheduledFuture<?> actions;
+
+    /**
+     * Creates a new {@link Bot}.
+     *
+     * @param statistics The statistics this bot reports to.
+     * @param username The username of this bot.
+     */
+    public Bot(BotStatistics statistics, String username) {
+        this.statistics = statistics;
+        this.username = username;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        int nameHash = (int) (StringUtils.encodeToBase37(username) >> 16 & 31);
+
+        ByteBuf buf = ctx.alloc().buffer(2);
+        buf.writeByte(14);
+        buf.writeByte(nameHash);
+        ctx.writeAndFlush(buf);
+
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (actions != null) {
+            actions.cancel(false);
+        }
+
+        if (state == State.GAME) {
+            statistics.disconnected();
+        } else {
+            statistics.loginFailed();
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        ctx.close();
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        switch (state) {
+        case HANDSHAKE:
+            if (in.readableBytes() >= HANDSHAKE_RESPONSE_SIZE) {
+                in.skipBytes(8);
+                checkState(in.readUnsignedByte() == 0, "handshake response != 0");
+                sendCredentials(ctx, in.readLong());
+                state = State.LOGIN_RESPONSE;
+            }
+            break;
+        case LOGIN_RESPONSE:
+            if (in.readableBytes() >= LOGIN_RESPONSE_SIZE) {
+                int response = in.readUnsignedByte();
+                in.skipBytes(2);
+                if (response != LOGIN_NORMAL) {
+                    ctx.close();
+                    return;
+                }
+
+                statistics.loginCompleted(System.nanoTime() - connectStart);
+                state = State.GAME;
+
+                long delay = ThreadLocalRandom.current().nextLong(ACTION_MILLIS);
+                actions = ctx.executor().scheduleAtFixedRate(() -> act(ctx), delay, ACTION_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            break;
+        case GAME:
+            int amount = in.readableBytes();
+            statistics.received(amount);
+            in.skipBytes(amount);
+            break;
+        }
+    }
+
+    /**
+     * Sends the login block, encrypting the secure portion with RSA.
+     *
+     * @param ctx The channel handler context.
+     * @param serverSeed The seed generated by the server.
+     */
+    private void sendCredentials(ChannelHandlerContext ctx, long serverSeed) {
+        long clientSeed = ThreadLocalRandom.current().nextLong();
+
+        ByteBuf secure = ctx.alloc().buffer();
+        ByteMessage msg = ByteMessage.wrap(secure);
+        msg.put(10);
+        msg.putLong(clientSeed);
+        msg.putLong(serverSeed);
+        msg.putInt(0);
+        msg.putString(username);
+        msg.putString(PASSWORD);
+
+        byte[] plain = new byte[secure.readableBytes()];
+        secure.readBytes(plain);
+        secure.release();
+
+        byte[] rsa = new BigInteger(plain).modPow(RSA_PUBLIC_EXPONENT, LunaNetworkConstants.RSA_MODULUS).toByteArray();
+
+        ByteBuf buf = ctx.alloc().buffer();
+        buf.writeByte(16);
+        buf.writeByte(rsa.length + 41);
+        buf.writeByte(255);
+        buf.writeShort(317);
+        buf.writeByte(0);
+        for (int i = 0; i < 9; i++) {
+            buf.writeInt(0);
+        }
+        buf.writeByte(rsa.length);
+        buf.writeBytes(rsa);
+        ctx.writeAndFlush(buf);
+
+        int[] seed = { (int) (clientSeed >> 32), (int) clientSeed, (int) (serverSeed >> 32), (int) serverSeed };
+        encryptor = new IsaacCipher(seed);
+    }
+
+    /**
+     * Performs a single random action. Walking is the most common, followed by chatting and commands. Otherwise the idle
+     * message is sent, which also keeps the connection from timing out.
+     *
+     * @param ctx The channel handler context.
+     */
+    private void act(ChannelHandlerContext ctx) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+
+        ByteMessage payload = ByteMessage.message();
+        int opcode;
+        if (roll < 50) {
+            Position start = EntityConstants.STARTING_POSITION;
+            int x = start.getX() + random.nextInt(-WALK_RADIUS, WALK_RADIUS + 1);
+            int y = start.getY() + random.nextInt(-WALK_RADIUS, WALK_RADIUS + 1);
+
+            payload.putShort(x, ByteTransform.A, ByteOrder.LITTLE);
+            payload.putShort(y, ByteOrder.LITTLE);
+            payload.put(0, ByteTransform.S);
+            opcode = WALKING_OPCODE;
+        } else if (roll < 60) {
+            payload.put(0, ByteTransform.S);
+            payload.put(0, ByteTransform.S);
+            for (int i = CHAT.length - 1; i >= 0; i--) {
+                payload.put(CHAT[i], ByteTransform.A);
+            }
+            opcode = CHAT_OPCODE;
+        } else if (roll < 62) {
+            payload.putString("bot");
+            opcode = COMMAND_OPCODE;
+        } else {
+            opcode = IDLE_OPCODE;
+        }
+        send(ctx, opcode, payload);
+    }
+
+    /**
+     * Encrypts and sends a message. Messages with a payload are sent as variable-sized messages.
+     *
+     * @param ctx The channel handler context.
+     * @param opcode The opcode of the message.
+     * @param payload The payload of the message.
+     */
+    private void send(ChannelHandlerContext ctx, int opcode, ByteMessage payload) {
+        ByteBuf data = payload.getBuffer();
+        int size = data.readableBytes();
+
+        ByteBuf buf = ctx.alloc().buffer(size + 2);
+        buf.writeByte(opcode + encryptor.nextInt());
+        if (size > 0) {
+            buf.writeByte(size);
+            buf.writeBytes(data);
+        }
+        payload.release();
+
+        statistics.sent(buf.readableBytes());
+        ctx.writeAndFlush(buf);
+    }
+
+    /**
+     * An enumerated type whose elements represent the stages a bot goes through.
+     */
+    private enum State {
+        HANDSHAKE,
+        LOGIN_RESPONSE,
+        GAME
+    }
+}
@@ -0,0 +1,145 @@
+package io.luna.bot;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics shared by every {@link Bot} in a load test. Updated concurrently from the bots' event loops.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class BotStatistics {
+
+    /**
+     * The amount of bots that are currently logged in.
+     */
+    private final AtomicInteger online = new AtomicInteger();
+
+    /**
+     * The amount of bots that have logged in.
+     */
+    private final AtomicInteger logins = new AtomicInteger();
+
+    /**
+     * The amount of bots that failed to log in.
+     */
+    private final AtomicInteger failedLogins = new AtomicInteger();
+
+    /**
+     * The amount of logged in bots that were disconnected.
+     */
+    private final AtomicInteger disconnects = new AtomicInteger();
+
+    /**
+     * The amount of bytes received by logged in bots.
+     */
+    private final LongAdder bytesReceived = new LongAdder();
+
+    /**
+     * The amount of bytes sent by logged in bots.
+     */
+    private final LongAdder bytesSent = new LongAdder();
+
+    /**
+     * The amount of time taken to log in, from connecting to receiving the login response, in nanoseconds.
+     */
+    private final Queue<Long> loginNanos = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Records a successful login.
+     *
+     * @param nanos The amount of time taken to log in.
+     */
+    void loginCompleted(long nanos) {
+        loginNanos.add(nanos);
+        logins.incrementAndGet();
+        online.incrementAndGet();
+    }
+
+    /**
+     * Records a failed login.
+     */
+    void loginFailed() {
+        failedLogins.incrementAndGet();
+    }
+
+    /**
+     * Records that a logged in bot was disconnected.
+     */
+    void disconnected() {
+        disconnects.incrementAndGet();
+        online.decrementAndGet();
+    }
+
+    /**
+     * Records bytes received by a logged in bot.
+     *
+     * @param amount The amount of bytes.
+     */
+    void received(int amount) {
+        bytesReceived.add(amount);
+    }
+
+    /**
+     * Records bytes sent by a logged in bot.
+     *
+     * @param amount The amount of bytes.
+     */
+    void sent(int amount) {
+        bytesSent.add(amount);
+    }
+
+    /**
+     * @return The login times recorded so far, in ascending order.
+     */
+    public long[] sortedLoginNanos() {
+        long[] sorted = loginNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * @return The amount of bots that are currently logged in.
+     */
+    public int getOnline() {
+        return online.get();
+    }
+
+    /**
+     * @return The amount of bots that have logged in.
+     */
+    public int getLogins() {
+        return logins.get();
+    }
+
+    /**
+     * @return The amount of bots that failed to log in.
+     */
+    public int getFailedLogins() {
+        return failedLogins.get();
+    }
+
+    /**
+     * @return The amount of logged in bots that were disconnected.
+     */
+    public int getDisconnects() {
+        return disconnects.get();
+    }
+
+    /**
+     * @return The amount of bytes received by logged in bots.
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * @return The amount of bytes sent by logged in bots.
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+}
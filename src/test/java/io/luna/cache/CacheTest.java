@@ -0,0 +1,287 @@
+package io.luna.cache;
+
+import io.luna.net.LunaNetworkConstants;
+import io.luna.net.codec.login.LoginDecoder;
+import io.luna.net.codec.login.LoginEncoder;
+import io.luna.net.session.Session;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures files are located and read correctly from a small synthetic {@link Cache}, and that they are served
+ * correctly through the on-demand protocol.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class CacheTest {
+
+    /**
+     * The index every test file is stored in, the one requested with on-demand type {@code 0}.
+     */
+    private static final int INDEX = 1;
+
+    /**
+     * A file that spans three sectors, stored out of order.
+     */
+    private static final byte[] LARGE_FILE = contents(1200, 7);
+
+    /**
+     * A file that fits within a single sector.
+     */
+    private static final byte[] SMALL_FILE = contents(100, 13);
+
+    /**
+     * The temporary directory the cache is written to.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The cache being tested.
+     */
+    private Cache cache;
+
+    /**
+     * Writes and opens the synthetic cache. File {@code 0} is stored in sectors {@code 3, 1, 4}, file {@code 1} in sector
+     * {@code 2}, and file {@code 2} points at the sector of file {@code 1}.
+     */
+    @Before
+    public void openCache() throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(Cache.SECTOR_SIZE * 5);
+        writeSector(data, 3, 0, 0, 1, Cache.SECTOR_DATA_SIZE * 0, LARGE_FILE);
+        writeSector(data, 1, 0, 1, 4, Cache.SECTOR_DATA_SIZE * 1, LARGE_FILE);
+        writeSector(data, 4, 0, 2, 0, Cache.SECTOR_DATA_SIZE * 2, LARGE_FILE);
+        writeSector(data, 2, 1, 0, 0, 0, SMALL_FILE);
+
+        ByteBuffer index = ByteBuffer.allocate(Cache.INDEX_ENTRY_SIZE * 3);
+        writeEntry(index, LARGE_FILE.length, 3);
+        writeEntry(index, SMALL_FILE.length, 2);
+        writeEntry(index, SMALL_FILE.length, 2);
+
+        Path directory = folder.getRoot().toPath();
+        Files.write(directory.resolve(Cache.DATA_FILE), data.array());
+        Files.write(directory.resolve(Cache.INDEX_FILE_PREFIX + INDEX), index.array());
+        cache = Cache.open(directory);
+    }
+
+    /**
+     * Closes the synthetic cache.
+     */
+    @After
+    public void closeCache() throws IOException {
+        cache.close();
+    }
+
+    /**
+     * Test that files spanning one or more sectors are located and read correctly.
+     */
+    @Test
+    public void testRead() throws IOException {
+        assertEquals(3, cache.getFileCount(INDEX));
+        assertEquals(0, cache.getFileCount(0));
+
+        assertArrayEquals(LARGE_FILE, toArray(cache.read(cache.locate(INDEX, 0))));
+        assertArrayEquals(SMALL_FILE, toArray(cache.read(cache.locate(INDEX, 1))));
+    }
+
+    /**
+     * Test that sectors belonging to another file, and files that do not exist, are rejected.
+     */
+    @Test
+    public void testCorrupt() {
+        assertLocateFails(INDEX, 2);
+        assertLocateFails(INDEX, 3);
+        assertLocateFails(0, 0);
+    }
+
+    /**
+     * Test that the on-demand handshake is answered, and that requested files are written in chunks made up of a header
+     * and the file's data.
+     */
+    @Test
+    public void testOnDemand() throws IOException {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ch.attr(LunaNetworkConstants.SESSION_KEY).set(new Session(ch));
+                ch.pipeline().addLast("login-decoder", new LoginDecoder(null, null, Optional.of(cache)));
+                ch.pipeline().addLast("login-encoder", new LoginEncoder());
+                ch.pipeline().addLast("upstream-handler", new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+                        ctx.channel().attr(LunaNetworkConstants.SESSION_KEY).get().handleUpstreamMessage(msg);
+                    }
+                });
+            }
+        });
+
+        ByteBuf in = Unpooled.buffer();
+        in.writeByte(15);
+        in.writeByte(0).writeShort(1).writeByte(1);
+        in.writeByte(0).writeShort(0).writeByte(2);
+        in.writeByte(0).writeShort(2).writeByte(2);
+        channel.writeInbound(in);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel sink = Channels.newChannel(out);
+        for (Object msg; (msg = channel.readOutbound()) != null; ) {
+            try {
+                if (msg instanceof ByteBuf) {
+                    ByteBuf buf = (ByteBuf) msg;
+                    buf.readBytes(out, buf.readableBytes());
+                } else {
+                    FileRegion region = (FileRegion) msg;
+                    while (region.transfered() < region.count()) {
+                        region.transferTo(sink, region.transfered());
+                    }
+                }
+            } finally {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+
+        ByteBuf response = Unpooled.wrappedBuffer(out.toByteArray());
+        assertEquals(0, response.readLong());
+        assertFile(response, 1, SMALL_FILE);
+        assertFile(response, 0, LARGE_FILE);
+        assertFalse(response.isReadable());
+        assertTrue(channel.isActive());
+        assertNull(channel.pipeline().get("login-encoder"));
+    }
+
+    /**
+     * Asserts that {@code file} is read from {@code response} as on-demand chunks.
+     *
+     * @param response The response being read.
+     * @param file The identifier of the file.
+     * @param expected The contents of the file.
+     */
+    private void assertFile(ByteBuf response, int file, byte[] expected) {
+        byte[] actual = new byte[expected.length];
+        for (int chunk = 0, offset = 0; offset < expected.length; chunk++) {
+            assertEquals(0, response.readUnsignedByte());
+            assertEquals(file, response.readUnsignedShort());
+            assertEquals(expected.length, response.readUnsignedShort());
+            assertEquals(chunk, response.readUnsignedByte());
+
+            int length = Math.min(500, expected.length - offset);
+            response.readBytes(actual, offset, length);
+            offset += length;
+        }
+        assertArrayEquals(expected, actual);
+    }
+
+    /**
+     * Asserts that locating {@code file} in {@code index} fails.
+     *
+     * @param index The index of the file.
+     * @param file The identifier of the file.
+     */
+    private void assertLocateFails(int index, int file) {
+        try {
+            cache.locate(index, file);
+        } catch (IOException expected) {
+            return;
+        }
+        throw new AssertionError("located corrupt file [index=" + index + ", file=" + file + "]");
+    }
+
+    /**
+     * Writes a single sector of a file to {@code data}.
+     *
+     * @param data The data file.
+     * @param sector The sector to write.
+     * @param file The identifier of the file.
+     * @param chunk The chunk of the file held by the sector.
+     * @param nextSector The sector holding the next chunk.
+     * @param offset The offset of the chunk within the file.
+     * @param contents The contents of the file.
+     */
+    private static void writeSector(ByteBuffer data, int sector, int file, int chunk, int nextSector, int offset,
+        byte[] contents) {
+        data.position(sector * Cache.SECTOR_SIZE);
+        data.putShort((short) file);
+        data.putShort((short) chunk);
+        putMedium(data, nextSector);
+        data.put((byte) (INDEX + 1));
+        data.put(contents, offset, Math.min(Cache.SECTOR_DATA_SIZE, contents.length - offset));
+    }
+
+    /**
+     * Writes the next index entry to {@code index}.
+     *
+     * @param index The index file.
+     * @param size The size of the file.
+     * @param sector The first sector of the file.
+     */
+    private static void writeEntry(ByteBuffer index, int size, int sector) {
+        putMedium(index, size);
+        putMedium(index, sector);
+    }
+
+    /**
+     * Writes an unsigned 24-bit integer to {@code buffer}.
+     *
+     * @param buffer The buffer.
+     * @param value The integer.
+     */
+    private static void putMedium(ByteBuffer buffer, int value) {
+        buffer.put((byte) (value >> 16));
+        buffer.put((byte) (value >> 8));
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Creates the contents of a test file.
+     *
+     * @param size The size of the file.
+     * @param seed The value used to vary the contents.
+     * @return The contents.
+     */
+    private static byte[] contents(int size, int seed) {
+        byte[] contents = new byte[size];
+        for (int i = 0; i < size; i++) {
+            contents[i] = (byte) (i * seed + i / 256);
+        }
+        return contents;
+    }
+
+    /**
+     * Copies the remaining bytes of {@code buffer} into an array.
+     *
+     * @param buffer The buffer.
+     * @return The array.
+     */
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] array = new byte[buffer.remaining()];
+        buffer.get(array);
+        return array;
+    }
+}
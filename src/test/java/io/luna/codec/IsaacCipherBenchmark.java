@@ -0,0 +1,96 @@
+package io.luna.codec;
+
+import io.luna.net.codec.IsaacCipher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JMH benchmark comparing opcode encryption through repeated calls to {@code IsaacCipher.nextInt()} against encrypting
+ * a whole batch through {@code IsaacCipher.encryptOpcodes(int[], int, int)}. Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=io.luna.codec.IsaacCipherBenchmark -Dexec.classpathScope=test}, or through {@code main}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsaacCipherBenchmark {
+
+    /**
+     * The amount of opcodes encrypted per operation, roughly the amount of messages a player receives in a cycle.
+     */
+    @Param({ "8", "64", "512" })
+    private int batchSize;
+
+    /**
+     * The cipher being benchmarked.
+     */
+    private IsaacCipher isaac;
+
+    /**
+     * The opcodes being encrypted.
+     */
+    private int[] opcodes;
+
+    /**
+     * Prepares the cipher and opcodes.
+     */
+    @Setup
+    public void setup() {
+        isaac = new IsaacCipher(new int[] { 1, 2, 3, 4 });
+        opcodes = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            opcodes[i] = i & 0xFF;
+        }
+    }
+
+    /**
+     * Encrypts the batch one opcode at a time.
+     *
+     * @return The encrypted opcodes.
+     */
+    @Benchmark
+    public int[] perCall() {
+        for (int i = 0; i < opcodes.length; i++) {
+            opcodes[i] = (opcodes[i] + isaac.nextInt()) & 0xFF;
+        }
+        return opcodes;
+    }
+
+    /**
+     * Encrypts the batch all at once.
+     *
+     * @return The encrypted opcodes.
+     */
+    @Benchmark
+    public int[] bulk() {
+        isaac.encryptOpcodes(opcodes, 0, opcodes.length);
+        return opcodes;
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args The command-line arguments, ignored.
+     * @throws Exception If any exceptions are thrown while running.
+     */
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(IsaacCipherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -5,6 +5,7 @@ import io.luna.net.codec.IsaacCipher;
 import io.luna.net.codec.MessageType;
 import io.luna.net.codec.game.GameMessageEncoder;
 import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.MessageStatistics;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.Test;
@@ -26,7 +27,7 @@ public final class GameMessageEncoderTest {
     public void testEncode() throws Exception {
         IsaacCipher isaac = new IsaacCipher(new int[] { 0, 0, 0, 0 });
 
-        GameMessageEncoder encoder = new GameMessageEncoder(isaac);
+        GameMessageEncoder encoder = new GameMessageEncoder(isaac, new MessageStatistics());
 
         byte[] payload = "test".getBytes();
         ByteBuf buffer = Unpooled.buffer();
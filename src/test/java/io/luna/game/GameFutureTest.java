@@ -0,0 +1,75 @@
+package io.luna.game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that {@link GameFuture}s are only completed when the {@link GameService} delivers them.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class GameFutureTest {
+
+    /**
+     * Test that results are only received once completions are delivered.
+     */
+    @Test
+    public void testDelivery() throws InterruptedException {
+        GameService service = new GameService(null);
+        List<Integer> received = new ArrayList<>();
+
+        GameFuture<Integer> future = service.async(() -> 42).onSuccess(received::add);
+        Thread.sleep(50);
+        assertTrue(received.isEmpty());
+
+        awaitDelivery(service, future);
+        assertEquals(received, Collections.singletonList(42));
+    }
+
+    /**
+     * Test that cancelled futures are never delivered.
+     */
+    @Test
+    public void testCancel() throws InterruptedException {
+        GameService service = new GameService(null);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+
+        GameFuture<Integer> future = service.async(() -> {
+            latch.await();
+            return 42;
+        }).onSuccess(received::add);
+        assertTrue(future.cancel());
+        assertFalse(future.cancel());
+
+        latch.countDown();
+        Thread.sleep(50);
+        service.runCompletions();
+        assertFalse(future.isDone());
+        assertTrue(received.isEmpty());
+    }
+
+    /**
+     * Delivers completions until {@code future} is done, failing after a second.
+     *
+     * @param service The service to deliver completions with.
+     * @param future The future to wait for.
+     */
+    private static void awaitDelivery(GameService service, GameFuture<?> future) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!future.isDone() && System.nanoTime() < deadline) {
+            service.runCompletions();
+            Thread.sleep(5);
+        }
+        assertTrue(future.isDone());
+    }
+}
@@ -0,0 +1,39 @@
+package io.luna.game;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that the {@link TickBudget} leaves room for the critical phases of a cycle.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TickBudgetTest {
+
+    /**
+     * Test that work before the critical phases leaves room for them, and work after them does not.
+     */
+    @Test
+    public void testCriticalReservation() {
+        TickBudget budget = new TickBudget(TimeUnit.MILLISECONDS.toNanos(400));
+
+        budget.startTick(System.nanoTime());
+        assertTrue(budget.hasRemaining());
+        for (int i = 0; i < 50; i++) {
+            budget.recordCritical(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        budget.startTick(System.nanoTime());
+        assertFalse(budget.hasRemaining());
+        budget.recordCritical(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(budget.hasRemaining());
+
+        budget.startTick(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(450));
+        budget.recordCritical(TimeUnit.MILLISECONDS.toNanos(500));
+        assertFalse(budget.hasRemaining());
+    }
+}
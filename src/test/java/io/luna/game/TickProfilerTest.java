@@ -0,0 +1,42 @@
+package io.luna.game;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that the {@link TickProfiler} keeps the most recent cycles.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TickProfilerTest {
+
+    /**
+     * Test that the history holds the most recent cycles, starting with the latest, once the ring has wrapped around.
+     */
+    @Test
+    public void testHistory() {
+        TickProfiler profiler = new TickProfiler(Long.MAX_VALUE);
+        int cycles = TickProfiler.HISTORY + 10;
+
+        for (int tick = 0; tick < cycles; tick++) {
+            profiler.start(tick, System.nanoTime());
+            profiler.mark(TickPhase.SYNC_TASKS);
+            profiler.mark(TickPhase.SYNCHRONIZE);
+            profiler.finish(tick, 0);
+        }
+
+        List<TickProfiler.Sample> history = profiler.getHistory();
+        assertEquals(history.size(), TickProfiler.HISTORY);
+        assertEquals(history.get(0).getTick(), cycles - 1);
+        assertEquals(history.get(0).getPlayers(), cycles - 1);
+        assertEquals(history.get(history.size() - 1).getTick(), 10);
+
+        TickProfiler.Sample latest = history.get(0);
+        assertTrue(latest.getPhaseNanos(TickPhase.SYNC_TASKS) + latest.getPhaseNanos(TickPhase.SYNCHRONIZE) <=
+            latest.getTotalNanos());
+    }
+}
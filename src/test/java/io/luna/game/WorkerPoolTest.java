@@ -0,0 +1,90 @@
+package io.luna.game;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A test that ensures that the {@link WorkerPool} keeps work for the same key ordered, and applies its limits.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class WorkerPoolTest {
+
+    /**
+     * Test that work submitted with the same key runs in the order it was submitted.
+     */
+    @Test
+    public void testKeyedOrder() throws Exception {
+        WorkerPool workers = new WorkerPool(4);
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            workers.execute(WorkPriority.PERSISTENCE, "player", () -> ran.add(value));
+        }
+        workers.shutdown();
+
+        assertEquals(ran, IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+        assertEquals(workers.getStatistics(WorkPriority.PERSISTENCE).getCompleted(), 100);
+    }
+
+    /**
+     * Test that work past the limit is rejected, or ran by the submitting thread.
+     */
+    @Test
+    public void testLimits() throws Exception {
+        WorkerPool workers = new WorkerPool(1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // Keeps the only worker thread busy, so everything else waits.
+        workers.execute(WorkPriority.PLUGIN, null, () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        int limit = WorkPriority.MAINTENANCE.getLimit();
+        for (int i = 0; i < limit; i++) {
+            assertTrue(workers.execute(WorkPriority.MAINTENANCE, null, () -> {
+            }));
+        }
+        assertFalse(workers.execute(WorkPriority.MAINTENANCE, null, () -> {
+        }));
+
+        ListenableFuture<Integer> rejected = workers.submit(WorkPriority.MAINTENANCE, null, () -> 1);
+        try {
+            rejected.get();
+            fail("work past the limit was accepted");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertEquals(workers.getStatistics(WorkPriority.MAINTENANCE).getRejected(), 2);
+
+        for (int i = 0; i < WorkPriority.PERSISTENCE.getLimit(); i++) {
+            workers.execute(WorkPriority.PERSISTENCE, null, () -> {
+            });
+        }
+        Thread current = Thread.currentThread();
+        List<Thread> ranOn = new ArrayList<>();
+        assertTrue(workers.execute(WorkPriority.PERSISTENCE, null, () -> ranOn.add(Thread.currentThread())));
+        assertEquals(ranOn, Collections.singletonList(current));
+
+        latch.countDown();
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,225 @@
+package io.luna.game.plugin;
+
+import io.luna.game.event.Event;
+import io.luna.game.event.EventListener;
+import io.luna.game.event.ListenerProfiler;
+import io.luna.game.event.impl.ButtonClickEvent;
+import io.luna.game.event.impl.CommandEvent;
+import io.luna.game.event.impl.WalkingEvent;
+import io.luna.game.model.mobile.Player;
+import org.junit.Test;
+import scala.Unit;
+import scala.runtime.AbstractFunction2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that events are dispatched to the correct listeners by the {@link PluginManager}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class PluginManagerTest {
+
+    /**
+     * Test that keyed listeners only receive events with their key, before listeners for every key.
+     */
+    @Test
+    public void testKeyedDispatch() {
+        PluginManager plugins = new PluginManager(null);
+        List<String> received = new ArrayList<>();
+
+        plugins.submit(CommandEvent.class, listener(evt -> received.add("all")));
+        plugins.submit(CommandEvent.class, "move", listener(evt -> received.add("move")));
+        plugins.submit(CommandEvent.class, "npc", listener(evt -> received.add("npc")));
+        plugins.submit(ButtonClickEvent.class, 2458, listener(evt -> received.add("button")));
+
+        plugins.post(new CommandEvent("move"));
+        plugins.post(new CommandEvent("unknown"));
+        plugins.post(new ButtonClickEvent(2458));
+        plugins.post(new ButtonClickEvent(2459));
+
+        assertEquals(received, Arrays.asList("move", "all", "all", "button"));
+    }
+
+    /**
+     * Test that terminating a keyed listener stops the listeners for every key from being invoked.
+     */
+    @Test
+    public void testKeyedTermination() {
+        PluginManager plugins = new PluginManager(null);
+        List<String> received = new ArrayList<>();
+
+        plugins.submit(CommandEvent.class, listener(evt -> received.add("all")));
+        plugins.submit(CommandEvent.class, "move", listener(Event::terminate));
+
+        plugins.post(new CommandEvent("move"));
+        plugins.post(new CommandEvent("npc"));
+
+        assertEquals(received, Arrays.asList("all"));
+    }
+
+    /**
+     * Test that posting an event from inside a listener of the same type does not affect the termination of the outer
+     * traversal.
+     */
+    @Test
+    public void testNestedTermination() {
+        PluginManager plugins = new PluginManager(null);
+        List<String> received = new ArrayList<>();
+
+        plugins.submit(CommandEvent.class, PluginManagerTest.<CommandEvent>listener(evt -> {
+            received.add(evt.getName());
+            if (evt.getName().equals("outer")) {
+                plugins.post(new CommandEvent("inner"));
+            }
+        }));
+        plugins.submit(CommandEvent.class, PluginManagerTest.<CommandEvent>listener(evt -> {
+            received.add(evt.getName() + " terminated");
+            evt.terminate();
+        }));
+        plugins.submit(CommandEvent.class, PluginManagerTest.<CommandEvent>listener(evt -> received.add(evt.getName() + " after")));
+
+        plugins.post(new CommandEvent("outer"));
+
+        assertEquals(received, Arrays.asList("outer", "inner", "inner terminated", "outer terminated"));
+    }
+
+    /**
+     * Test that events are only considered to have listeners once some are submitted, and that a reused event posted again
+     * from its own listener is given a new instance rather than being overwritten mid-traversal.
+     */
+    @Test
+    public void testReusedEvents() {
+        PluginManager plugins = new PluginManager(null);
+        List<String> received = new ArrayList<>();
+
+        assertFalse(plugins.hasListeners(WalkingEvent.class));
+        plugins.submit(CommandEvent.class, "move", PluginManagerTest.<CommandEvent>listener(evt -> {
+        }));
+        assertTrue(plugins.hasListeners(CommandEvent.class));
+        assertFalse(plugins.hasListeners(WalkingEvent.class));
+
+        plugins.submit(WalkingEvent.class, PluginManagerTest.<WalkingEvent>listener(evt -> {
+            received.add("running " + evt.getRunning());
+            if (evt.getRunning()) {
+                WalkingEvent inner = WalkingEvent.reuse(null, false);
+                assertNotSame(evt, inner);
+                plugins.post(inner);
+                assertTrue(evt.getRunning());
+            }
+        }));
+        assertTrue(plugins.hasListeners(WalkingEvent.class));
+
+        WalkingEvent outer = WalkingEvent.reuse(null, true);
+        plugins.post(outer);
+        assertSame(outer, WalkingEvent.reuse(null, false));
+
+        assertEquals(received, Arrays.asList("running true", "running false"));
+    }
+
+    /**
+     * Test that reloading a plugin replaces its listeners, and leaves the listeners of other plugins alone.
+     */
+    @Test
+    public void testReload() {
+        PluginManager plugins = new PluginManager(null);
+        List<String> received = new ArrayList<>();
+
+        plugins.replaceAll(Arrays.asList(new MovePlugin(received, "old move"), new NpcPlugin(received)));
+        plugins.post(new CommandEvent("move"));
+        plugins.post(new CommandEvent("npc"));
+
+        plugins.reload(Collections.emptySet(), Collections.singleton(new MovePlugin(received, "new move")));
+        plugins.post(new CommandEvent("move"));
+        plugins.post(new CommandEvent("npc"));
+
+        plugins.reload(Collections.singleton(MovePlugin.class.getName()), Collections.emptySet());
+        plugins.post(new CommandEvent("move"));
+        plugins.post(new CommandEvent("npc"));
+
+        assertEquals(received, Arrays.asList("old move", "npc", "new move", "npc", "npc"));
+    }
+
+    /**
+     * Test that every call to a plugin listener is counted while profiling, under the line that submitted it.
+     */
+    @Test
+    public void testProfiling() {
+        PluginManager plugins = new PluginManager(null);
+        List<String> received = new ArrayList<>();
+
+        plugins.replaceAll(Collections.singleton(new NpcPlugin(received)));
+        plugins.post(new CommandEvent("npc"));
+
+        ListenerProfiler profiler = plugins.getProfiler();
+        profiler.setEnabled(true);
+        for (int i = 0; i < 3; i++) {
+            plugins.post(new CommandEvent("npc"));
+        }
+        profiler.setEnabled(false);
+
+        ListenerProfiler.Profile listener = profiler.getTopListeners(1).get(0);
+        assertEquals(listener.getCalls(), 3);
+        assertTrue(listener.getName(), listener.getName().startsWith("PluginManagerTest.java:"));
+        assertEquals(profiler.getTopEvents(1).get(0).getName(), "CommandEvent");
+    }
+
+    /**
+     * Creates an {@link EventListener} that passes every event to {@code action}.
+     *
+     * @param action The action to perform.
+     * @return The listener.
+     */
+    private static <E extends Event> EventListener<E> listener(Consumer<E> action) {
+        return new EventListener<>(new AbstractFunction2<E, Player, Unit>() {
+            @Override
+            public Unit apply(E evt, Player player) {
+                action.accept(evt);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * A {@link Plugin} that listens for the {@code move} command.
+     */
+    private static final class MovePlugin extends Plugin {
+
+        /**
+         * Creates a new {@link MovePlugin}.
+         *
+         * @param received The list to add {@code message} to.
+         * @param message The message added when the command is received.
+         */
+        private MovePlugin(List<String> received, String message) {
+            super(null);
+            submit(CommandEvent.class, "move", listener(evt -> received.add(message)));
+        }
+    }
+
+    /**
+     * A {@link Plugin} that listens for the {@code npc} command.
+     */
+    private static final class NpcPlugin extends Plugin {
+
+        /**
+         * Creates a new {@link NpcPlugin}.
+         *
+         * @param received The list to add to when the command is received.
+         */
+        private NpcPlugin(List<String> received) {
+            super(null);
+            submit(CommandEvent.class, "npc", listener(evt -> received.add("npc")));
+        }
+    }
+}
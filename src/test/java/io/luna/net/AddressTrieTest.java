@@ -0,0 +1,90 @@
+package io.luna.net;
+
+import com.google.common.net.InetAddresses;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that the {@link AddressTrie} matches addresses against the ranges it contains.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class AddressTrieTest {
+
+    /**
+     * Test that addresses are matched by the routing prefix of a range, and whole addresses only by themselves.
+     */
+    @Test
+    public void testCidr() {
+        AddressTrie trie = new AddressTrie();
+        add(trie, "10.0.0.0", 8);
+        add(trie, "192.168.1.7", 32);
+
+        assertTrue(contains(trie, "10.0.0.0"));
+        assertTrue(contains(trie, "10.255.255.255"));
+        assertFalse(contains(trie, "11.0.0.0"));
+        assertTrue(contains(trie, "192.168.1.7"));
+        assertFalse(contains(trie, "192.168.1.8"));
+        assertEquals(trie.size(), 2);
+    }
+
+    /**
+     * Test that overlapping ranges match the widest of them, regardless of the order they were added in.
+     */
+    @Test
+    public void testOverlapping() {
+        AddressTrie narrowFirst = new AddressTrie();
+        add(narrowFirst, "172.16.5.0", 24);
+        add(narrowFirst, "172.16.0.0", 12);
+
+        AddressTrie wideFirst = new AddressTrie();
+        add(wideFirst, "172.16.0.0", 12);
+        add(wideFirst, "172.16.5.0", 24);
+
+        for (AddressTrie trie : new AddressTrie[] { narrowFirst, wideFirst }) {
+            assertTrue(contains(trie, "172.16.5.1"));
+            assertTrue(contains(trie, "172.31.255.255"));
+            assertFalse(contains(trie, "172.32.0.0"));
+        }
+    }
+
+    /**
+     * Test that IPv6 ranges are matched, and kept apart from IPv4 ranges with the same leading bits.
+     */
+    @Test
+    public void testIpv6() {
+        AddressTrie trie = new AddressTrie();
+        add(trie, "2001:db8::", 32);
+        add(trie, "0.0.0.0", 1);
+
+        assertTrue(contains(trie, "2001:db8:1234::1"));
+        assertFalse(contains(trie, "2001:db9::1"));
+        assertFalse(contains(trie, "::1"));
+        assertTrue(contains(trie, "127.0.0.1"));
+    }
+
+    /**
+     * Adds the range starting with {@code address} to {@code trie}.
+     *
+     * @param trie The trie.
+     * @param address The address, as a string.
+     * @param prefixLength The amount of bits in the routing prefix.
+     */
+    private static void add(AddressTrie trie, String address, int prefixLength) {
+        trie.add(InetAddresses.forString(address).getAddress(), prefixLength);
+    }
+
+    /**
+     * Determines if {@code address} is within any range in {@code trie}.
+     *
+     * @param trie The trie.
+     * @param address The address, as a string.
+     * @return {@code true} if the address is within a range.
+     */
+    private static boolean contains(AddressTrie trie, String address) {
+        return trie.contains(InetAddresses.forString(address).getAddress());
+    }
+}
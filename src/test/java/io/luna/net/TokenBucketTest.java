@@ -0,0 +1,50 @@
+package io.luna.net;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that a {@link TokenBucket} allows bursts up to its size, and refills at its rate.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TokenBucketTest {
+
+    /**
+     * Test that a full bucket allows exactly its burst size at once.
+     */
+    @Test
+    public void testBurst() {
+        TokenBucket bucket = new TokenBucket(1, 3, 0);
+        assertTrue(bucket.isFull(0));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire(0));
+        }
+        assertFalse(bucket.tryAcquire(0));
+        assertFalse(bucket.isFull(0));
+    }
+
+    /**
+     * Test that tokens are refilled at the rate of the bucket, and never past its burst size.
+     */
+    @Test
+    public void testRefill() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+
+        assertFalse(bucket.tryAcquire(second / 4));
+        assertTrue(bucket.tryAcquire(second / 2));
+        assertFalse(bucket.tryAcquire(second / 2));
+
+        assertTrue(bucket.isFull(second * 10));
+        assertTrue(bucket.tryAcquire(second * 10));
+        assertTrue(bucket.tryAcquire(second * 10));
+        assertFalse(bucket.tryAcquire(second * 10));
+    }
+}